@@ -0,0 +1,76 @@
+package com.pm.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.service.OrderJsonDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of /retrieveOrders and /rateSnapshot payloads: Jackson data binding of the whole list,
+ * as {@code getAllOrders} does, against the incremental paths behind {@code streamOrders} and {@code loadOrders}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonDecodingBenchmark {
+    @Param({"100", "10000", "100000"})
+    private int orders;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final OrderJsonDecoder decoder = new OrderJsonDecoder(objectMapper);
+
+    private byte[] ordersJson;
+    private byte[] ratesJson;
+
+    @Setup
+    public void setUp() {
+        ordersJson = SyntheticData.json(SyntheticData.orders(orders, SyntheticData.SEED));
+        ratesJson = SyntheticData.json(SyntheticData.rates());
+    }
+
+    @Benchmark
+    public List<Order> bindOrderList() throws Exception {
+        return objectMapper.readValue(ordersJson, new TypeReference<List<Order>>() {
+        });
+    }
+
+    @Benchmark
+    public void streamOrders(Blackhole blackhole) throws Exception {
+        decoder.streamOrders(new ByteArrayInputStream(ordersJson), blackhole::consume);
+    }
+
+    @Benchmark
+    public OrderStore loadOrderColumns() throws Exception {
+        OrderStore store = new OrderStore();
+        decoder.loadOrders(new ByteArrayInputStream(ordersJson), store);
+        return store;
+    }
+
+    @Benchmark
+    public List<FXRate> bindRateList() throws Exception {
+        return objectMapper.readValue(ratesJson, new TypeReference<List<FXRate>>() {
+        });
+    }
+}
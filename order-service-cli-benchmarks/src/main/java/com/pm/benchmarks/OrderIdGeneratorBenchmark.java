@@ -0,0 +1,58 @@
+package com.pm.benchmarks;
+
+import com.pm.models.OrderIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link OrderIdGenerator#nextId()} on one thread and on eight contending threads, against a
+ * counter behind a lock like the one it replaced would need to be thread-safe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderIdGeneratorBenchmark {
+    private final OrderIdGenerator generator = new OrderIdGenerator(1, System::currentTimeMillis);
+    private long counter;
+
+    @Benchmark
+    @Threads(1)
+    public long generator() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long generatorContended() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long synchronizedCounter() {
+        return next();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long synchronizedCounterContended() {
+        return next();
+    }
+
+    private synchronized long next() {
+        return ++counter;
+    }
+}
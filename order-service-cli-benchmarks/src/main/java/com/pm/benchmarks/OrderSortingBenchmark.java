@@ -0,0 +1,86 @@
+package com.pm.benchmarks;
+
+import com.pm.commands.OrdersCommand;
+import com.pm.models.BoundedMaxHeap;
+import com.pm.models.Currency;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code orders} command pipeline: distance to market for every order, the pair/distance sort,
+ * and the per-pair top-N selection used by {@code orders --top}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderSortingBenchmark {
+    private static final int TOP = 10;
+
+    @Param({"100", "10000", "100000"})
+    private int orders;
+
+    private List<Order> orderList;
+    private OrderStore store;
+    private RateTable rateTable;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        orderList = SyntheticData.orders(orders, SyntheticData.SEED);
+        store = SyntheticData.store(orderList);
+        rateTable = RateTable.of(SyntheticData.rates());
+        distances = OrdersCommand.calculateDistances(store, rateTable);
+    }
+
+    @Benchmark
+    public double[] calculateDistances() {
+        return OrdersCommand.calculateDistances(store, rateTable);
+    }
+
+    @Benchmark
+    public int[] sortByPairAndDistance() {
+        int[] rows = store.select(row -> true);
+        OrderStore.sort(rows, OrdersCommand.createOrderingRule(store, distances));
+        return rows;
+    }
+
+    @Benchmark
+    public int[] distancesAndSort() {
+        double[] rowDistances = OrdersCommand.calculateDistances(store, rateTable);
+        int[] rows = store.select(row -> true);
+        OrderStore.sort(rows, OrdersCommand.createOrderingRule(store, rowDistances));
+        return rows;
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public BoundedMaxHeap<Order>[] topPerPair() {
+        BoundedMaxHeap<Order>[] nearest = new BoundedMaxHeap[RateTable.CURRENCIES * RateTable.CURRENCIES];
+        for (Order order : orderList) {
+            int pair = RateTable.index(Currency.valueOf(order.getInvestmentCcy()), Currency.valueOf(order.getCounterCcy()));
+            if (nearest[pair] == null) {
+                nearest[pair] = new BoundedMaxHeap<>(TOP);
+            }
+            nearest[pair].offer(OrdersCommand.calculateDistance(order, rateTable), order);
+        }
+        return nearest;
+    }
+}
@@ -0,0 +1,49 @@
+package com.pm.benchmarks;
+
+import com.pm.models.OrderStore;
+import com.pm.models.OrderSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code summary} command's grouping, sequentially and through the fork-join split used above
+ * {@link OrderSummary#PARALLEL_THRESHOLD} rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderSummaryBenchmark {
+    @Param({"100", "10000", "1000000"})
+    private int orders;
+
+    private OrderStore store;
+
+    @Setup
+    public void setUp() {
+        store = SyntheticData.store(SyntheticData.orders(orders, SyntheticData.SEED));
+    }
+
+    @Benchmark
+    public OrderSummary sequential() {
+        return OrderSummary.aggregate(store, 0, store.size());
+    }
+
+    @Benchmark
+    public OrderSummary summary() {
+        return OrderSummary.of(store);
+    }
+}
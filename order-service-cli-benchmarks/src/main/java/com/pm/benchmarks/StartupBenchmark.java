@@ -0,0 +1,86 @@
+package com.pm.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time to launch the CLI in a fresh JVM, run {@code help} and exit, with and without an AppCDS
+ * archive. The archive is dumped once per trial by a training run of {@code --cds-training}, the same way the
+ * {@code cds} build profile does, against the classpath of this benchmark jar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+    @Param({"false", "true"})
+    private boolean cds;
+
+    private final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    private final String classPath = System.getProperty("java.class.path");
+    private Path archive;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        if (!cds) {
+            return;
+        }
+        archive = Files.createTempDirectory("startup-benchmark").resolve("cli.jsa");
+        int status = run(List.of("-XX:ArchiveClassesAtExit=" + archive, "-cp", classPath, "com.pm.Main", "--cds-training"), "");
+        if (status != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("CDS training run failed with status " + status);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (archive != null) {
+            Files.deleteIfExists(archive);
+            Files.deleteIfExists(archive.getParent());
+        }
+    }
+
+    @Benchmark
+    public int help() throws IOException, InterruptedException {
+        List<String> arguments = new ArrayList<>();
+        if (cds) {
+            arguments.add("-XX:SharedArchiveFile=" + archive);
+        }
+        arguments.addAll(List.of("-cp", classPath, "com.pm.Main", "--script", "-"));
+        return run(arguments, "help\n");
+    }
+
+    private int run(List<String> arguments, String input) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(arguments);
+        Process process = new ProcessBuilder(command)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        process.getOutputStream().write(input.getBytes(StandardCharsets.UTF_8));
+        process.getOutputStream().close();
+        return process.waitFor();
+    }
+}
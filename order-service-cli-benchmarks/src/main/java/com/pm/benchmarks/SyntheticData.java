@@ -0,0 +1,67 @@
+package com.pm.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.server.SyntheticBook;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Benchmark inputs, generated with the same {@link SyntheticBook} the stand-in server serves.
+ * <p>
+ * Every generator takes a seed and a fixed reference date, so two runs of the same benchmark always see
+ * the same data.
+ */
+public final class SyntheticData {
+    /** Seed used by all benchmarks unless they say otherwise */
+    public static final long SEED = 0x5EED_F00DL;
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @return One quote per unordered currency pair, the way /rateSnapshot lists them
+     */
+    public static List<FXRate> rates() {
+        return SyntheticBook.rates();
+    }
+
+    /**
+     * @param count Number of orders
+     * @param seed Random seed
+     * @return Orders spread over every ordered currency pair, with IDs "1" to {@code count}
+     */
+    public static List<Order> orders(int count, long seed) {
+        return SyntheticBook.orders(count, seed, TODAY);
+    }
+
+    /**
+     * @param orders The orders to copy
+     * @return A columnar store holding the same orders
+     */
+    public static OrderStore store(List<Order> orders) {
+        OrderStore store = new OrderStore();
+        orders.forEach(store);
+        return store;
+    }
+
+    /**
+     * @param value A payload such as a list of orders or rates
+     * @return The payload encoded the way the order service sends it
+     */
+    public static byte[] json(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode benchmark payload", e);
+        }
+    }
+}
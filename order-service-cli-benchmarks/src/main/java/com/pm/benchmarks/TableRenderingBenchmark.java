@@ -0,0 +1,74 @@
+package com.pm.benchmarks;
+
+import com.pm.commands.OrdersCommand;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.output.TableWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering the {@code orders} table to a discarding stream: {@link OrdersCommand#renderTable}, which writes
+ * through a {@link TableWriter}, against the per-row {@code printf} it replaced, so the formatting cost is
+ * measured without terminal I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TableRenderingBenchmark {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Param({"100", "10000"})
+    private int orders;
+
+    private final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+    private OrderStore store;
+    private int[] rows;
+    private double[] distances;
+
+    @Setup
+    public void setUp() {
+        store = SyntheticData.store(SyntheticData.orders(orders, SyntheticData.SEED));
+        distances = OrdersCommand.calculateDistances(store, RateTable.of(SyntheticData.rates()));
+        rows = store.select(row -> true);
+    }
+
+    @Benchmark
+    public int tableWriter() {
+        return OrdersCommand.renderTable(out, store, rows, distances, 0, rows.length);
+    }
+
+    @Benchmark
+    public int printf() {
+        out.printf("%-4s %-4s %-4s %-4s %8s %12s %8s%n", "ID", "TYPE", "INV", "CTR", "LIMIT", "VALIDITY", "DISTANCE");
+        out.println("-----------------------------------------------------");
+        for (int row = 0; row < store.size(); row++) {
+            out.printf("%-4s %-4s %-4s %-4s %8.2f %12s %8.3f%n",
+                    store.id(row),
+                    store.isBuy(row) ? "buy" : "sell",
+                    store.investmentCcy(row),
+                    store.counterCcy(row),
+                    store.limit(row),
+                    store.validUntil(row).format(DATE_FORMATTER),
+                    distances[row]);
+        }
+        return store.size();
+    }
+}
@@ -1,57 +1,103 @@
 package com.pm;
 
 import com.pm.commands.*;
+import com.pm.metrics.CommandEvent;
+import com.pm.metrics.MetricsRegistry;
 import com.pm.service.HttpService;
 import com.pm.service.OrderService;
+import com.pm.service.VirtualThreads;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
 
 
 @RequiredArgsConstructor
 public class CLI {
-    private final HttpService httpService = new HttpService("http://localhost:8888");
-
-    private final Map<String, Command> commands;
+    private final OrderService orderService;
+    /** Creates each command the first time it is entered, so startup does not load every command class */
+    private final Map<String, Supplier<Command>> commandFactories;
+    private final Map<String, Command> commands = new HashMap<>();
     private final BufferedReader reader;
     private volatile boolean running = true;
+    /** Set while running a script, whose watching commands get no interactive input to stop on */
+    private boolean scripted;
 
-    public CLI(OrderService orderService) {
+    /**
+     * @param orderService The service commands run against
+     * @param baseUrl The URL of that service, the default target of {@code loadtest}
+     */
+    public CLI(OrderService orderService, String baseUrl) {
+        this.orderService = orderService;
         this.reader = new BufferedReader(new InputStreamReader(System.in));
-        this.commands = initializeCommands(orderService);
+        this.commandFactories = initializeCommands(orderService, baseUrl);
     }
 
-    private Map<String, Command> initializeCommands(OrderService orderService) {
-        Map<String, Command> commandMap = new HashMap<>();
-        commandMap.put("new", new NewOrderCommand(orderService));
-        commandMap.put("cancel", new CancelCommand(orderService));
-        commandMap.put("rates", new RatesCommand(orderService));
-        commandMap.put("orders", new OrdersCommand(orderService));
-        commandMap.put("summary", new SummaryCommand(orderService));
-        commandMap.put("help", new HelpCommand());
-        commandMap.put("exit", new ExitCommand(() -> running = false));
+    private Map<String, Supplier<Command>> initializeCommands(OrderService orderService, String baseUrl) {
+        Map<String, Supplier<Command>> commandMap = new HashMap<>();
+        commandMap.put("new", () -> new NewOrderCommand(orderService));
+        commandMap.put("cancel", () -> new CancelCommand(orderService));
+        commandMap.put("batch", () -> new BatchCommand(orderService));
+        commandMap.put("export", () -> new ExportCommand(orderService));
+        commandMap.put("import", () -> new ImportCommand(orderService));
+        commandMap.put("rates", () -> new RatesCommand(orderService, scripted ? null : reader));
+        commandMap.put("orders", () -> new OrdersCommand(orderService));
+        commandMap.put("summary", () -> new SummaryCommand(orderService));
+        commandMap.put("monitor", () -> new MonitorCommand(orderService, scripted ? null : reader));
+        commandMap.put("expire", () -> new ExpireCommand(orderService));
+        commandMap.put("loadtest", () -> new LoadTestCommand(HttpService::new, baseUrl));
+        commandMap.put("stats", () -> new StatsCommand(MetricsRegistry.global()));
+        commandMap.put("help", HelpCommand::new);
+        commandMap.put("exit", () -> new ExitCommand(() -> running = false));
         return commandMap;
     }
 
     public void start() throws Exception {
+        start(false);
+    }
+
+    /**
+     * Runs the interactive prompt until {@code exit} or the end of input.
+     *
+     * @param fastStart {@code true} to show the prompt at once and check the connection to the service in the
+     *                  background, only warning if it fails; {@code false} to check first and quit on failure
+     * @throws Exception If the prompt could not be run
+     */
+    public void start(boolean fastStart) throws Exception {
         System.out.println("FX OrderBook CLI Application");
         System.out.println("Type 'help' for available commands or 'exit' to quit.");
 
         // Test connection to the service
-        try {
-            httpService.getExchangeRates();
-            System.out.println("Successfully connected to FX service");
-        } catch (Exception e) {
-            System.err.println("\nError: Could not connect to the Order Service!");
-            System.err.println("Please ensure the Order Service is running on http://localhost:8888");
-            System.err.println("The application cannot function without the Order Service.\n");
-            running = false;
-            return;
+        if (fastStart) {
+            // Also warms the rate cache and the HTTP and JSON classes while the user types
+            VirtualThreads.supplyAsync(orderService::getExchangeRates).whenComplete((rates, error) -> {
+                if (error != null) {
+                    System.err.println("\nWarning: Could not connect to the Order Service: " + unwrap(error).getMessage());
+                    System.err.println("Commands that need the Order Service will fail until it is reachable.");
+                }
+            });
+        } else {
+            try {
+                orderService.getExchangeRates();
+                System.out.println("Successfully connected to FX service");
+            } catch (Exception e) {
+                System.err.println("\nError: Could not connect to the Order Service!");
+                System.err.println("Please ensure the Order Service is running and reachable");
+                System.err.println("The application cannot function without the Order Service.\n");
+                running = false;
+                return;
+            }
         }
 
         while (running) {
@@ -63,7 +109,7 @@ public class CLI {
                     break;
                 }
 
-                processCommand(input.trim());
+                processCommand(input.trim(), "");
             } catch (IOException e) {
                 System.err.println("Error reading input: " + e.getMessage());
                 break;
@@ -77,25 +123,153 @@ public class CLI {
         }
     }
 
-    private void processCommand(String input) {
+    /**
+     * Runs the commands of a script, one per line, without prompts. Blank lines and lines starting with
+     * {@code #} are skipped.
+     * <p>
+     * Creates and cancels do not depend on each other, so they are sent through the asynchronous service API
+     * with up to {@code window} requests in flight while later lines are already being read. Any other command
+     * first waits for everything in flight, so it sees their effects. Results are printed in input order.
+     * Watching commands cannot be stopped with Enter here and must be given a {@code --duration}.
+     *
+     * @param script The script to read
+     * @param window Maximum number of creates and cancels in flight
+     * @return 0 if every command succeeded, 1 otherwise
+     * @throws IOException If the script could not be read
+     * @throws InterruptedException If interrupted while waiting for in-flight commands
+     */
+    public int runScript(BufferedReader script, int window) throws IOException, InterruptedException {
+        scripted = true;
+        Semaphore inFlight = new Semaphore(window);
+        Deque<PendingCommand> pending = new ArrayDeque<>();
+        int failures = 0;
+        int lineNumber = 0;
+        String line;
+
+        while (running && (line = script.readLine()) != null) {
+            lineNumber++;
+            String input = line.trim();
+            if (input.isEmpty() || input.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = input.split("\\s+");
+            String commandName = parts[0].toLowerCase();
+            if (commandName.equals("new") || commandName.equals("cancel")) {
+                inFlight.acquire();
+                CompletableFuture<String> result = submit(commandName, parts);
+                result.whenComplete((output, error) -> inFlight.release());
+                pending.add(new PendingCommand(lineNumber, result));
+                failures += printCompleted(pending, false);
+            } else {
+                failures += printCompleted(pending, true);
+                if (!processCommand(input, "Line " + lineNumber + ": ")) {
+                    failures++;
+                }
+            }
+        }
+
+        failures += printCompleted(pending, true);
+        return failures == 0 ? 0 : 1;
+    }
+
+    /**
+     * Starts a create or cancel through the command's asynchronous entry point without waiting for it.
+     *
+     * @return A future completed with the command's output, or exceptionally with the failure
+     */
+    private CompletableFuture<String> submit(String commandName, String[] parts) {
+        CommandEvent event = new CommandEvent();
+        event.command = commandName;
+        event.argumentCount = parts.length - 1;
+        event.begin();
+        long start = System.nanoTime();
+
+        CompletableFuture<String> result = commandName.equals("new")
+                ? new NewOrderCommand(orderService).executeAsync(parts)
+                : new CancelCommand(orderService).executeAsync(parts);
+
+        return result.whenComplete((output, error) -> {
+            event.outcome = error == null ? "success" : "failure";
+            event.failure = error == null ? null : unwrap(error).getMessage();
+            event.commit();
+            MetricsRegistry.global().recordCommand(commandName, System.nanoTime() - start, error == null);
+        });
+    }
+
+    /**
+     * Prints the results at the head of the queue, in input order.
+     *
+     * @param pending Submitted commands whose results have not been printed
+     * @param waitForAll {@code true} to wait until every pending command completed, {@code false} to stop at
+     *                   the first one still running
+     * @return Number of failed commands printed
+     */
+    private static int printCompleted(Deque<PendingCommand> pending, boolean waitForAll) {
+        int failures = 0;
+        while (!pending.isEmpty() && (waitForAll || pending.peek().result().isDone())) {
+            PendingCommand command = pending.poll();
+            try {
+                System.out.println(command.result().join());
+            } catch (CompletionException | CancellationException e) {
+                failures++;
+                System.err.println("Line " + command.lineNumber() + ": Command failed: " + unwrap(e).getMessage());
+            }
+        }
+        return failures;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Parses and executes one command line.
+     *
+     * @param input The trimmed command line
+     * @param context Prefix for error messages, e.g. the script line
+     * @return {@code false} if the command was unknown or failed
+     */
+    private boolean processCommand(String input, String context) {
         if (input.isEmpty()) {
-            return;
+            return true;
         }
 
         String[] parts = input.split("\\s+");
         String commandName = parts[0].toLowerCase();
 
-        Command command = commands.get(commandName);
-        if (command == null) {
-            System.err.println("Unknown command: " + commandName);
+        Supplier<Command> factory = commandFactories.get(commandName);
+        if (factory == null) {
+            System.err.println(context + "Unknown command: " + commandName);
             System.out.println("Type 'help' for available commands.");
-            return;
+            return false;
         }
 
-        try {
-            command.execute(parts);
+        CommandEvent event = new CommandEvent();
+        event.command = commandName;
+        event.argumentCount = parts.length - 1;
+        event.begin();
+        try (MetricsRegistry.CommandExecution execution = MetricsRegistry.global().startCommand(commandName)) {
+            commands.computeIfAbsent(commandName, name -> factory.get()).execute(parts);
+            execution.succeeded();
+            event.outcome = "success";
+            return true;
         } catch (Exception e) {
-            System.err.println("Command failed: " + e.getMessage());
+            event.outcome = "failure";
+            event.failure = e.getMessage();
+            System.err.println(context + "Command failed: " + e.getMessage());
+            return false;
+        } finally {
+            event.commit();
         }
     }
+
+    /**
+     * A pipelined script command whose result has not been printed yet.
+     *
+     * @param lineNumber The script line
+     * @param result The command's output, or its failure
+     */
+    private record PendingCommand(int lineNumber, CompletableFuture<String> result) {
+    }
 }
\ No newline at end of file
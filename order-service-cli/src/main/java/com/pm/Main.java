@@ -1,23 +1,145 @@
 package com.pm;
 
 
+import com.pm.commands.CommandOptions;
+import com.pm.metrics.MetricsFileWriter;
+import com.pm.metrics.MetricsRegistry;
+import com.pm.server.FaultProfile;
+import com.pm.server.StandInBook;
+import com.pm.server.StandInServer;
+import com.pm.server.SyntheticBook;
+import com.pm.service.CachingOrderService;
 import com.pm.service.HttpService;
+import com.pm.service.OrderExpirer;
 import com.pm.service.OrderService;
+import com.pm.service.ReplicatedOrderService;
+import com.pm.service.SnapshotFile;
+import com.pm.service.SnapshotOrderService;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Stream;
+
 
 @Slf4j
 public class Main {
+    private static final Duration RATE_TTL = Duration.ofSeconds(2);
+    private static final Duration RATE_MAX_STALE = Duration.ofSeconds(30);
+    private static final Duration ORDER_BOOK_RECONCILE_INTERVAL = Duration.ofSeconds(30);
+    private static final int METRICS_INTERVAL_SECONDS = 60;
+    private static final int EXPIRY_MAX_IN_FLIGHT = 16;
+    private static final int SCRIPT_WINDOW = 32;
+    private static final String DEFAULT_URL = "http://localhost:8888";
+    private static final int CDS_TRAINING_ORDERS = 2_000;
+    /** Commands run by {@code --cds-training}, covering the classes a typical session loads */
+    private static final String CDS_TRAINING_SCRIPT = String.join("\n",
+            "help",
+            "rates",
+            "rates --all",
+            "new buy EUR USD 1.10 31.12.2099",
+            "new sell EUR GBP 0.90 31.12.2099",
+            "cancel 1",
+            "orders --page 1",
+            "orders --top 3 --pair EURUSD",
+            "summary",
+            "expire --dry-run",
+            "stats");
 
+    /**
+     * Starts the CLI. With {@code --metrics-file <path>} the metrics are also appended to that file every
+     * {@code --metrics-interval} seconds (default 60) and on exit. With {@code --expire-interval <minutes>}
+     * orders past their validity date are cancelled in the background at that interval.
+     * With {@code --script <file>}, or {@code --script -} for standard input, the commands of the script are run
+     * without prompts, {@code --window} creates and cancels at a time (default 32), and the process exits with
+     * status 1 if any of them failed.
+     * <p>
+     * {@code --url} selects the order service (default http://localhost:8888). With {@code --fast-start} the
+     * prompt is shown before the connection to the service has been checked. {@code --cds-training} runs a fixed
+     * script against an in-process stand-in and exits; the {@code cds} build profile runs it with
+     * {@code -XX:ArchiveClassesAtExit} to produce a class data sharing archive, used with
+     * {@code java -XX:SharedArchiveFile=target/order-service-cli.jsa -jar ...}.
+     * <p>
+     * Interactive sessions save the last rates and order book to a snapshot file in the user's cache directory
+     * and answer reads from it at the next start while refreshing from the service; {@code --no-snapshot}
+     * turns this off. Scripts always read from the service.
+     */
     public static void main(String[] args) {
         try {
-            OrderService orderService = new HttpService("http://localhost:8888");
-            CLI cli = new CLI(orderService);
-            cli.start();
+            CommandOptions options = new CommandOptions(
+                    Stream.concat(Stream.of("cli"), Arrays.stream(args)).toArray(String[]::new),
+                    Set.of("fast-start", "cds-training", "no-snapshot"));
+            if (options.has("cds-training")) {
+                System.exit(runCdsTraining());
+            }
+            if (options.has("metrics-file")) {
+                MetricsFileWriter metricsWriter = new MetricsFileWriter(MetricsRegistry.global(),
+                        Path.of(options.get("metrics-file", "")),
+                        Duration.ofSeconds(options.getPositiveInt("metrics-interval", METRICS_INTERVAL_SECONDS)));
+                Runtime.getRuntime().addShutdownHook(new Thread(metricsWriter::close));
+            }
+
+            String baseUrl = options.get("url", DEFAULT_URL);
+            OrderService orderService = createOrderService(baseUrl);
+            if (options.has("expire-interval")) {
+                new OrderExpirer(orderService, EXPIRY_MAX_IN_FLIGHT)
+                        .start(Duration.ofMinutes(options.getPositiveInt("expire-interval", 60)));
+            }
+            if (options.has("script")) {
+                String script = options.get("script", "-");
+                try (BufferedReader reader = script.equals("-")
+                        ? new BufferedReader(new InputStreamReader(System.in))
+                        : Files.newBufferedReader(Path.of(script))) {
+                    System.exit(new CLI(orderService, baseUrl).runScript(reader, options.getPositiveInt("window", SCRIPT_WINDOW)));
+                }
+            }
+            boolean fastStart = options.has("fast-start");
+            if (!options.has("no-snapshot")) {
+                SnapshotOrderService snapshots = new SnapshotOrderService(orderService, SnapshotFile.defaultPath(baseUrl));
+                Runtime.getRuntime().addShutdownHook(new Thread(snapshots::close));
+                // Reads are answered from the saved snapshot at once, so there is no connection to wait for
+                fastStart |= snapshots.start();
+                orderService = snapshots;
+            }
+            new CLI(orderService, baseUrl).start(fastStart);
         } catch (Exception e) {
             log.error("Application failed to start", e);
             System.err.println("Failed to start application: " + e.getMessage());
             System.exit(1);
         }
     }
-}
\ No newline at end of file
+
+    private static OrderService createOrderService(String baseUrl) {
+        return new ReplicatedOrderService(
+                new CachingOrderService(new HttpService(baseUrl), RATE_TTL, RATE_MAX_STALE),
+                ORDER_BOOK_RECONCILE_INTERVAL);
+    }
+
+    /**
+     * Runs the training script against a stand-in with synthetic orders, with its output discarded.
+     *
+     * @return The script's exit status
+     */
+    private static int runCdsTraining() throws Exception {
+        StandInBook book = new StandInBook(SyntheticBook.rates());
+        book.preload(SyntheticBook.orders(CDS_TRAINING_ORDERS, 0, LocalDate.now()));
+        PrintStream stdout = System.out;
+        try (StandInServer server = new StandInServer(0, book, FaultProfile.NONE)) {
+            server.start();
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            CLI cli = new CLI(createOrderService(server.getBaseUrl()), server.getBaseUrl());
+            return cli.runScript(new BufferedReader(new StringReader(CDS_TRAINING_SCRIPT)), SCRIPT_WINDOW);
+        } finally {
+            System.setOut(stdout);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.pm.commands;
+
+import com.pm.models.Order;
+import com.pm.service.BulkOrderSubmitter;
+import com.pm.service.OrderService;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command implementation for creating many orders from a file.
+ * Each line is either in the {@code new} command syntax or a CSV record
+ * ({@code buy,EUR,USD,1.2,31.12.2025}). Lines are validated with the same rules as {@link NewOrderCommand}
+ * and the valid ones are submitted concurrently with a bounded number of requests in flight.
+ */
+@RequiredArgsConstructor
+public class BatchCommand implements Command {
+    private static final int DEFAULT_WINDOW = 64;
+
+    private final OrderService orderService;
+
+    /**
+     * Executes the batch command, creating every valid order in the given file.
+     *
+     * @param args Command arguments in the format: batch <file> [--window <n>]
+     * @throws IllegalArgumentException if the arguments are invalid or the file cannot be read
+     * @throws Exception if interrupted while waiting for submissions
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args);
+        if (options.positional().size() != 1) {
+            throw new IllegalArgumentException("Usage: batch <file> [--window <n>]");
+        }
+        int window = options.getPositiveInt("window", DEFAULT_WINDOW);
+
+        List<Integer> lineNumbers = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        int invalid = readOrders(Path.of(options.positional().get(0)), lineNumbers, orders);
+
+        if (orders.isEmpty()) {
+            System.out.println("No valid orders to submit");
+            return;
+        }
+
+        long start = System.nanoTime();
+        List<BulkOrderSubmitter.Result> results = new BulkOrderSubmitter(orderService, window).submitAll(orders);
+        long elapsedNanos = System.nanoTime() - start;
+
+        int failed = 0;
+        for (int i = 0; i < results.size(); i++) {
+            BulkOrderSubmitter.Result result = results.get(i);
+            if (result.succeeded()) {
+                System.out.println("Line " + lineNumbers.get(i) + ": order created: " + result.created().getId());
+            } else {
+                failed++;
+                System.out.println("Line " + lineNumbers.get(i) + ": failed to create order: " + result.error().getMessage());
+            }
+        }
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("Submitted %d orders in %.3f s (%.1f orders/s), %d failed, %d invalid lines skipped%n",
+                orders.size(), seconds, orders.size() / seconds, failed, invalid);
+    }
+
+    /**
+     * Reads and validates every order line in the file.
+     *
+     * @param file The file to read
+     * @param lineNumbers Receives the 1-based line number of each valid order
+     * @param orders Receives each valid order
+     * @return The number of invalid lines, which are reported and skipped
+     */
+    private int readOrders(Path file, List<Integer> lineNumbers, List<Order> orders) {
+        int invalid = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                try {
+                    orders.add(NewOrderCommand.parseOrder(toNewOrderArgs(line)));
+                    lineNumbers.add(lineNumber);
+                } catch (IllegalArgumentException e) {
+                    invalid++;
+                    System.err.println("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to read batch file: " + e.getMessage());
+        }
+        return invalid;
+    }
+
+    private String[] toNewOrderArgs(String line) {
+        if (line.contains(",")) {
+            String[] fields = line.split("\\s*,\\s*");
+            String[] args = new String[fields.length + 1];
+            args[0] = "new";
+            System.arraycopy(fields, 0, args, 1, fields.length);
+            return args;
+        }
+        String[] args = line.split("\\s+");
+        if (!args[0].equalsIgnoreCase("new")) {
+            throw new IllegalArgumentException("Expected a 'new ...' command or a CSV record, got: " + line);
+        }
+        return args;
+    }
+}
@@ -4,6 +4,9 @@ import com.pm.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Command implementation for canceling existing orders in the system.
  * This command requires an order ID as an argument and attempts to cancel the corresponding order.
@@ -23,22 +26,54 @@ public class CancelCommand implements Command {
      */
     @Override
     public void execute(String[] args) throws Exception {
-        if (args.length != 2) {
-            throw new IllegalArgumentException("Usage: cancel <ID>");
-        }
+        String orderId = parseOrderId(args);
 
         try {
-            String orderId = args[1];
-            boolean cancelled = orderService.cancelOrder(orderId);
-
-            if (cancelled) {
-                System.out.println("Order " + orderId + " cancelled successfully");
-            } else {
-                System.out.println("Order " + orderId + " not found");
-            }
+            System.out.println(format(orderId, orderService.cancelOrder(orderId)));
         } catch (Exception e) {
             log.error("Failed to cancel order", e);
-            throw new IllegalArgumentException("Failed to cancel order: " + e.getMessage());
+            throw failure(e);
+        }
+    }
+
+    /**
+     * Starts cancelling an order without waiting for the service, as scripts do to pipeline cancels.
+     *
+     * @param args Command arguments where args[1] should contain the order ID
+     * @return A future completed with the line {@link #execute} would print, or exceptionally with the
+     *         {@link IllegalArgumentException} it would throw
+     */
+    public CompletableFuture<String> executeAsync(String[] args) {
+        String orderId;
+        CompletableFuture<Boolean> cancelled;
+        try {
+            orderId = parseOrderId(args);
+            cancelled = orderService.cancelOrderAsync(orderId);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(failure(e));
+        }
+        return cancelled.handle((found, error) -> {
+            if (error != null) {
+                throw failure(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+            return format(orderId, found);
+        });
+    }
+
+    private static String parseOrderId(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: cancel <ID>");
         }
+        return args[1];
+    }
+
+    private static String format(String orderId, boolean cancelled) {
+        return cancelled ? "Order " + orderId + " cancelled successfully" : "Order " + orderId + " not found";
+    }
+
+    private static IllegalArgumentException failure(Throwable error) {
+        return new IllegalArgumentException("Failed to cancel order: " + error.getMessage());
     }
 }
\ No newline at end of file
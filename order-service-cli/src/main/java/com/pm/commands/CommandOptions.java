@@ -0,0 +1,137 @@
+package com.pm.commands;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Splits command arguments into positional arguments and {@code --name [value]} options.
+ * The command name itself (args[0]) is skipped.
+ */
+public class CommandOptions {
+    private final List<String> positional = new ArrayList<>();
+    private final Map<String, String> options = new HashMap<>();
+
+    /**
+     * Parses the given arguments.
+     *
+     * @param args Command arguments, including the command name at index 0
+     * @param flags Names of options that take no value, without the leading dashes
+     * @throws IllegalArgumentException if a valued option is missing its value
+     */
+    public CommandOptions(String[] args, Set<String> flags) {
+        for (int i = 1; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                positional.add(arg);
+                continue;
+            }
+
+            String name = arg.substring(2);
+            if (flags.contains(name)) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for option --" + name);
+            }
+        }
+    }
+
+    public CommandOptions(String[] args) {
+        this(args, Set.of());
+    }
+
+    /**
+     * @return The positional arguments, in order
+     */
+    public List<String> positional() {
+        return positional;
+    }
+
+    /**
+     * @param name Option name without the leading dashes
+     * @return {@code true} if the option or flag was given
+     */
+    public boolean has(String name) {
+        return options.containsKey(name);
+    }
+
+    /**
+     * @param name Option name without the leading dashes
+     * @param defaultValue Value to return when the option is absent
+     * @return The option value, or the default
+     */
+    public String get(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Returns a positive integer option.
+     *
+     * @param name Option name without the leading dashes
+     * @param defaultValue Value to return when the option is absent
+     * @return The parsed value, or the default
+     * @throws IllegalArgumentException if the value is not a positive integer
+     */
+    public int getPositiveInt(String name, int defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException("--" + name + " must be greater than zero");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+        }
+    }
+
+    /**
+     * Returns an integer option.
+     *
+     * @param name Option name without the leading dashes
+     * @param defaultValue Value to return when the option is absent
+     * @return The parsed value, or the default
+     * @throws IllegalArgumentException if the value is not an integer
+     */
+    public long getLong(String name, long defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+        }
+    }
+
+    /**
+     * Returns a decimal option.
+     *
+     * @param name Option name without the leading dashes
+     * @param defaultValue Value to return when the option is absent
+     * @return The parsed value, or the default
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    public double getDouble(String name, double defaultValue) {
+        String value = options.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for --" + name + ": " + value);
+        }
+    }
+}
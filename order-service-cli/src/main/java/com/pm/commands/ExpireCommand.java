@@ -0,0 +1,85 @@
+package com.pm.commands;
+
+import com.pm.models.Order;
+import com.pm.output.TableWriter;
+import com.pm.service.OrderExpirer;
+import com.pm.service.OrderService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command implementation for cancelling orders whose validity date has passed.
+ * With {@code --dry-run} the expired orders are only listed.
+ */
+@RequiredArgsConstructor
+public class ExpireCommand implements Command {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("ID", 4),
+            TableWriter.left("TYPE", 4),
+            TableWriter.left("INV", 4),
+            TableWriter.left("CTR", 4),
+            TableWriter.right("LIMIT", 8),
+            TableWriter.right("VALIDITY", 12));
+    private static final int DEFAULT_WINDOW = 16;
+
+    private final OrderExpirer expirer;
+
+    /**
+     * Constructs a new ExpireCommand with its own expirer over the specified order service.
+     *
+     * @param orderService The service to read and cancel orders with
+     */
+    public ExpireCommand(OrderService orderService) {
+        this(new OrderExpirer(orderService, DEFAULT_WINDOW));
+    }
+
+    /**
+     * Executes the expire command, listing and then cancelling every expired order.
+     *
+     * @param args Command arguments in the format: expire [--dry-run]
+     * @throws IllegalArgumentException if the options are invalid
+     * @throws Exception If an error occurs while reading or cancelling orders
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args, Set.of("dry-run"));
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException("Usage: expire [--dry-run]");
+        }
+
+        expirer.refresh();
+        List<Order> expired = expirer.expiredOrders();
+        if (expired.isEmpty()) {
+            System.out.println("No expired orders");
+            return;
+        }
+
+        try (TableWriter table = new TableWriter(System.out, COLUMNS)) {
+            table.header('-');
+            for (Order order : expired) {
+                table.text(order.getId())
+                        .text(order.isBuy() ? "buy" : "sell")
+                        .text(order.getInvestmentCcy())
+                        .text(order.getCounterCcy())
+                        .decimal(order.getLimit(), 2)
+                        .date(order.getValidUntil())
+                        .endRow();
+            }
+        }
+
+        if (options.has("dry-run")) {
+            System.out.println(expired.size() + " orders past their validity date (dry run, nothing cancelled)");
+            return;
+        }
+
+        OrderExpirer.Result result = expirer.expire();
+        for (Map.Entry<String, Throwable> error : result.errors().entrySet()) {
+            System.out.println("Failed to cancel order " + error.getKey() + ": " + error.getValue().getMessage());
+        }
+        System.out.printf("Cancelled %d of %d expired orders, %d failed%n",
+                result.cancelled(), result.expired(), result.failed());
+    }
+}
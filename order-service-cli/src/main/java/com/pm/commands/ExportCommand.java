@@ -0,0 +1,48 @@
+package com.pm.commands;
+
+import com.pm.models.OrderStore;
+import com.pm.service.OrderRecordFile;
+import com.pm.service.OrderService;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command implementation for exporting the order book to a binary file.
+ * The orders are loaded into an {@link OrderStore} and written as fixed-width {@link OrderRecordFile} records,
+ * which {@link ImportCommand} can create again on another service.
+ */
+@RequiredArgsConstructor
+public class ExportCommand implements Command {
+    private final OrderService orderService;
+
+    /**
+     * Executes the export command, writing every order of the book to the given file.
+     *
+     * @param args Command arguments in the format: export <file>
+     * @throws IllegalArgumentException if the arguments are invalid or the file cannot be written
+     * @throws Exception If an error occurs while fetching the orders
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args);
+        if (options.positional().size() != 1) {
+            throw new IllegalArgumentException("Usage: export <file>");
+        }
+        Path file = Path.of(options.positional().get(0));
+
+        long start = System.nanoTime();
+        OrderStore store = new OrderStore();
+        orderService.loadOrders(store);
+        try {
+            OrderRecordFile.write(file, store);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("Exported %d orders to %s (%d bytes) in %.3f s%n",
+                    store.size(), file, Files.size(file), seconds);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to write export file: " + e.getMessage());
+        }
+    }
+}
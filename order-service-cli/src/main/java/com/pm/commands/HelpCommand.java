@@ -17,9 +17,25 @@ public class HelpCommand implements Command {
         System.out.println("Example: new buy EUR SEK 1.14 31.12.2025");
         System.out.println("cancel <ID>");
         System.out.println("Example: cancel 5");
-        System.out.println("rates - Show current exchange rates");
-        System.out.println("orders - Show all orders sorted by currency pair and distance to market rate");
-        System.out.println("summary - Show order summary grouped by currency and type");
+        System.out.println("batch <file> [--window <n>] - Create orders from a file, one 'new ...' line or CSV record per line");
+        System.out.println("Example: batch orders.csv --window 32");
+        System.out.println("export <file> - Write the order book to a binary file");
+        System.out.println("import <file> [--window <n>] - Create the orders of a file written by export");
+        System.out.println("Example: import book.bin --window 128");
+        System.out.println("rates [--all | --watch [--min-interval <ms>] [--max-interval <ms>] [--duration <s>] [--plain]] - Show current exchange rates, or keep them updated until Enter is pressed");
+        System.out.println("Example: rates --all");
+        System.out.println("Example: rates --watch --min-interval 200");
+        System.out.println("orders [--top <n>] [--pair <CCY1CCY2>] [--page <n>] [--page-size <n>] [--format table|csv|jsonl] [--out <file>] - Show orders sorted by currency pair and distance to market rate, or stream them as CSV or JSON lines");
+        System.out.println("Example: orders --top 5 --pair EURUSD");
+        System.out.println("Example: orders --page 2 --page-size 100");
+        System.out.println("Example: orders --format csv --out orders.csv");
+        System.out.println("summary [--format table|csv|jsonl] [--out <file>] - Show order summary grouped by currency and type");
+        System.out.println("monitor [--pair <CCY1CCY2>] [--min-interval <ms>] [--max-interval <ms>] [--duration <s>] - Alert on orders whose limit is crossed by live rates until Enter is pressed");
+        System.out.println("Example: monitor --pair EURUSD");
+        System.out.println("expire [--dry-run] - Cancel orders past their validity date, or only list them");
+        System.out.println("loadtest [--url <base-url>] [--rate <req/s> | --concurrency <n>] [--duration <s>] [--warmup <s>] [--mix <op=weight,...>] [--seed <n>] - Load test the order service and report latency percentiles");
+        System.out.println("Example: loadtest --rate 500 --duration 60 --mix create=50,cancel=30,rates=20");
+        System.out.println("stats [--reset] - Show request and command metrics, optionally resetting them afterwards");
         System.out.println("help - Show this help message");
         System.out.println("exit - Exit the application");
     }
@@ -0,0 +1,85 @@
+package com.pm.commands;
+
+import com.pm.models.Order;
+import com.pm.service.BulkOrderSubmitter;
+import com.pm.service.ForwardingOrderService;
+import com.pm.service.OrderRecordFile;
+import com.pm.service.OrderService;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command implementation for creating the orders of a file written by {@link ExportCommand}.
+ * Records are read straight off the memory-mapped file and fed to a {@link BulkOrderSubmitter} while earlier
+ * creates are still in flight, so neither the file nor the results are held in memory. Orders are created
+ * without the ID they had in the export, as the service assigns new ones; failures are reported with the
+ * exported ID.
+ */
+@RequiredArgsConstructor
+public class ImportCommand implements Command {
+    private static final int DEFAULT_WINDOW = 64;
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final OrderService orderService;
+
+    /**
+     * Executes the import command, creating every order of the given file.
+     *
+     * @param args Command arguments in the format: import <file> [--window <n>]
+     * @throws IllegalArgumentException if the arguments are invalid or the file cannot be read
+     * @throws Exception if interrupted while waiting for submissions
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args);
+        if (options.positional().size() != 1) {
+            throw new IllegalArgumentException("Usage: import <file> [--window <n>]");
+        }
+        int window = options.getPositiveInt("window", DEFAULT_WINDOW);
+        Path file = Path.of(options.positional().get(0));
+
+        AtomicLong failed = new AtomicLong();
+        BulkOrderSubmitter.Submission submission = new BulkOrderSubmitter(new WithoutIds(orderService), window).start(result -> {
+            if (!result.succeeded() && failed.incrementAndGet() <= MAX_REPORTED_FAILURES) {
+                System.err.println("Order " + result.order().getId() + ": failed to create order: "
+                        + result.error().getMessage());
+            }
+        });
+
+        long start = System.nanoTime();
+        try {
+            OrderRecordFile.read(file, submission);
+        } catch (IOException | IllegalArgumentException e) {
+            submission.awaitAll();
+            throw new IllegalArgumentException("Failed to read import file: " + e.getMessage());
+        }
+        long submitted = submission.awaitAll();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        if (failed.get() > MAX_REPORTED_FAILURES) {
+            System.err.println("... " + (failed.get() - MAX_REPORTED_FAILURES) + " more failures not shown");
+        }
+        System.out.printf("Imported %d orders in %.3f s (%.1f orders/s), %d failed%n",
+                submitted - failed.get(), seconds, submitted / seconds, failed.get());
+    }
+
+    /**
+     * Sends each order to the service with its ID omitted, leaving the submitted order, and so the ID
+     * reported on failure, unchanged.
+     */
+    private static final class WithoutIds extends ForwardingOrderService {
+        WithoutIds(OrderService delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public CompletableFuture<Order> createOrderAsync(Order order) {
+            return delegate.createOrderAsync(new Order(null, order.getInvestmentCcy(), order.isBuy(),
+                    order.getCounterCcy(), order.getLimit(), order.getValidUntil()));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pm.commands;
+
+import com.pm.loadtest.LoadGenerator;
+import com.pm.loadtest.LoadProfile;
+import com.pm.service.OrderService;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Command implementation for load testing the order service.
+ * Drives the service at a fixed request rate (open loop) or with a fixed number of concurrent callers
+ * (closed loop), mixing creates, cancels, order retrievals and rate snapshots, and prints throughput and
+ * latency percentiles per operation.
+ * <p>
+ * The load goes to a dedicated HTTP client for the given URL, by default the service the CLI is connected
+ * to, rather than through the CLI's cache and local order book, so what is measured is the service itself.
+ */
+@RequiredArgsConstructor
+public class LoadTestCommand implements Command {
+    private static final String USAGE = "Usage: loadtest [--url <base-url>] [--rate <req/s> | --concurrency <n>] "
+            + "[--duration <s>] [--warmup <s>] [--mix create=30,cancel=20,orders=10,rates=40] [--seed <n>]";
+
+    private static final String DEFAULT_MIX = "create=30,cancel=20,orders=10,rates=40";
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+    private static final int DEFAULT_WARMUP_SECONDS = 5;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+    private static final int DEFAULT_CALLERS = 16;
+
+    /** Creates the service under test for a base URL */
+    private final Function<String, OrderService> connector;
+    /** Base URL tested when no {@code --url} is given */
+    private final String defaultUrl;
+
+    /**
+     * Executes the load test and prints its report.
+     * With {@code --rate} requests are scheduled at that rate, with at most {@code --concurrency} (default 1024)
+     * in flight; without it {@code --concurrency} (default 16) callers issue requests back to back.
+     *
+     * @param args Command arguments in the format described by {@link #USAGE}
+     * @throws IllegalArgumentException if the options are invalid
+     * @throws Exception if interrupted while running
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args);
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException(USAGE);
+        }
+
+        boolean openLoop = options.has("rate");
+        long warmupSeconds = options.getLong("warmup", DEFAULT_WARMUP_SECONDS);
+        if (warmupSeconds < 0) {
+            throw new IllegalArgumentException("--warmup must not be negative");
+        }
+
+        LoadProfile profile = new LoadProfile(
+                openLoop ? options.getPositiveInt("rate", 1) : 0,
+                options.getPositiveInt("concurrency", openLoop ? DEFAULT_MAX_IN_FLIGHT : DEFAULT_CALLERS),
+                Duration.ofSeconds(options.getPositiveInt("duration", DEFAULT_DURATION_SECONDS)),
+                Duration.ofSeconds(warmupSeconds),
+                LoadProfile.parseMix(options.get("mix", DEFAULT_MIX)),
+                options.getLong("seed", System.nanoTime()));
+
+        String url = options.get("url", defaultUrl);
+        System.out.printf("Load testing %s for %d s (+%d s warmup)...%n",
+                url, profile.duration().toSeconds(), profile.warmup().toSeconds());
+
+        new LoadGenerator(connector.apply(url), profile).run().print(System.out);
+    }
+}
@@ -0,0 +1,138 @@
+package com.pm.commands;
+
+import com.pm.models.CrossRateEngine;
+import com.pm.models.LimitTriggerIndex;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.output.TableWriter;
+import com.pm.service.OrderService;
+import com.pm.service.RatePoller;
+
+import java.io.BufferedReader;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Command implementation for monitoring open orders against live rates.
+ * <p>
+ * The book is loaded once and indexed by pair and limit in a {@link LimitTriggerIndex}. Rates are then polled
+ * like {@code rates --watch} does and completed with cross rates by a {@link CrossRateEngine}. Each snapshot is
+ * applied only to the pairs that moved, inverses and crosses included, printing an alert for each order whose
+ * limit the market has crossed: a buy when the ask is at or below its limit, a sell when the bid is at or above
+ * it. Orders created or cancelled after the command started are not seen.
+ */
+public class MonitorCommand implements Command {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("TIME", 12),
+            TableWriter.left("ID", 4),
+            TableWriter.left("TYPE", 4),
+            TableWriter.left("INV", 4),
+            TableWriter.left("CTR", 4),
+            TableWriter.right("LIMIT", 8),
+            TableWriter.right("RATE", 10));
+    private static final String USAGE = "Usage: monitor [--pair <CCY1CCY2>] [--min-interval <ms>] "
+            + "[--max-interval <ms>] [--duration <s>]";
+    private static final int DEFAULT_MIN_INTERVAL_MILLIS = 250;
+    private static final int DEFAULT_MAX_INTERVAL_MILLIS = 4000;
+    private static final int ANY_PAIR = -1;
+
+    /** Service for accessing orders and exchange rates */
+    private final OrderService orderService;
+    /** Input watched for the Enter key that stops monitoring */
+    private final BufferedReader input;
+
+    /**
+     * Constructs a new MonitorCommand without interactive input, so monitoring requires a duration.
+     *
+     * @param orderService The service to use for retrieving orders and exchange rates
+     */
+    public MonitorCommand(OrderService orderService) {
+        this(orderService, null);
+    }
+
+    /**
+     * Constructs a new MonitorCommand that stops when a line is entered on the given input.
+     *
+     * @param orderService The service to use for retrieving orders and exchange rates
+     * @param input The reader the CLI takes commands from, or {@code null} when running a script
+     */
+    public MonitorCommand(OrderService orderService, BufferedReader input) {
+        this.orderService = orderService;
+        this.input = input;
+    }
+
+    /**
+     * Executes the monitor command, alerting on triggered orders until Enter is pressed or the duration passed.
+     *
+     * @param args Command arguments in the format described by {@link #USAGE}
+     * @throws IllegalArgumentException if the options are invalid
+     * @throws Exception If an error occurs while fetching the orders
+     */
+    @Override
+    public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args);
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        int pairFilter = options.has("pair") ? OrdersCommand.parsePair(options.get("pair", "")) : ANY_PAIR;
+        RatePoller poller = new RatePoller(orderService,
+                Duration.ofMillis(options.getPositiveInt("min-interval", DEFAULT_MIN_INTERVAL_MILLIS)),
+                Duration.ofMillis(options.getPositiveInt("max-interval", DEFAULT_MAX_INTERVAL_MILLIS)));
+        WatchInput watchInput = new WatchInput(input, options.has("duration")
+                ? Duration.ofSeconds(options.getPositiveInt("duration", 1))
+                : null);
+
+        OrderStore store = new OrderStore();
+        orderService.loadOrders(store);
+        LimitTriggerIndex index = new LimitTriggerIndex(store);
+        System.out.println("Monitoring " + index.size() + " orders, press Enter to stop");
+
+        CrossRateEngine crossRates = new CrossRateEngine();
+        long alerts = 0;
+        long scanNanos = 0;
+        try (TableWriter table = new TableWriter(System.out, COLUMNS)) {
+            table.header('-');
+            table.flush();
+            do {
+                RatePoller.Update update;
+                try {
+                    update = poller.poll();
+                } catch (Exception e) {
+                    table.line("Poll failed: " + e.getMessage()).flush();
+                    continue;
+                }
+
+                String time = LocalTime.now().truncatedTo(ChronoUnit.MILLIS).toString();
+                long start = System.nanoTime();
+                int[] pairs = crossRates.update(update.rates());
+                RateTable rates = crossRates.table();
+                for (int pair : pairs) {
+                    if (pairFilter != ANY_PAIR && pair != pairFilter) {
+                        continue;
+                    }
+                    alerts += index.update(pair, rates.bid(pair), rates.ask(pair), row -> writeAlert(table, store, rates, time, row));
+                }
+                scanNanos += System.nanoTime() - start;
+                table.flush();
+            } while (watchInput.awaitNextPoll(poller.nextInterval()));
+        }
+
+        System.out.printf("Stopped monitoring: %d alerts, %d polls, %d rate updates, %d failed, %.1f us matching per poll%n",
+                alerts, poller.getPolls(), poller.getChangedPairs(), poller.getFailures(),
+                poller.getPolls() == 0 ? 0.0 : scanNanos / 1000.0 / poller.getPolls());
+    }
+
+    private static void writeAlert(TableWriter table, OrderStore store, RateTable rates, String time, int row) {
+        boolean buy = store.isBuy(row);
+        table.text(time)
+                .text(store.id(row))
+                .text(buy ? "buy" : "sell")
+                .text(store.investmentCcy(row).name())
+                .text(store.counterCcy(row).name())
+                .decimal(store.limit(row), 2)
+                .decimal(buy ? rates.ask(store.pairId(row)) : rates.bid(store.pairId(row)), 4)
+                .endRow();
+    }
+}
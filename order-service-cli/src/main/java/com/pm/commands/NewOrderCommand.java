@@ -10,9 +10,8 @@ import lombok.RequiredArgsConstructor;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -23,19 +22,6 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class NewOrderCommand implements Command {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    // From /supportedCurrencyPairs
-    private static final Set<CurrencyPair> SUPPORTED_PAIRS = new HashSet<>(Arrays.asList(
-            new CurrencyPair(Currency.EUR, Currency.USD),
-            new CurrencyPair(Currency.EUR, Currency.GBP),
-            new CurrencyPair(Currency.EUR, Currency.SEK),
-            new CurrencyPair(Currency.EUR, Currency.NOK),
-            new CurrencyPair(Currency.USD, Currency.SEK),
-            new CurrencyPair(Currency.USD, Currency.NOK),
-            new CurrencyPair(Currency.USD, Currency.JPY),
-            new CurrencyPair(Currency.USD, Currency.ZAR),
-            new CurrencyPair(Currency.EUR, Currency.CHF),
-            new CurrencyPair(Currency.USD, Currency.CHF)
-    ));
     private final OrderService orderService;
 
     /**
@@ -48,27 +34,67 @@ public class NewOrderCommand implements Command {
 
     @Override
     public void execute(String[] args) throws Exception {
+        Order order = parseOrder(args);
 
-        if (args.length != 6) {
-            throw new IllegalArgumentException("Usage: new [buy|sell] <investment ccy> <counter ccy> <limit> <validity>");
+        try {
+            System.out.println(format(orderService.createOrder(order)));
+        } catch (Exception e) {
+            throw failure(e);
         }
+    }
 
+    /**
+     * Starts creating an order without waiting for the service, as scripts do to pipeline creates.
+     *
+     * @param args Command arguments in the format: new [buy|sell] <investment ccy> <counter ccy> <limit> <validity>
+     * @return A future completed with the line {@link #execute} would print, or exceptionally with the
+     *         {@link IllegalArgumentException} it would throw
+     */
+    public CompletableFuture<String> executeAsync(String[] args) {
+        CompletableFuture<Order> created;
         try {
-            OrderType type = parseOrderType(args[1]);
-            Currency investmentCcy = parseCurrency(args[2]);
-            Currency counterCcy = parseCurrency(args[3]);
-            validateCurrencyPair(investmentCcy, counterCcy);
-            double limit = parseLimit(args[4]);
-            LocalDate validity = parseValidity(args[5]);
-
-            Order order = new Order(type, investmentCcy, counterCcy, limit, validity);
-            Order createdOrder = orderService.createOrder(order);
-            System.out.println("Order created: " + createdOrder.getId());
-        } catch (IllegalArgumentException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to create order: " + e.getMessage());
+            created = orderService.createOrderAsync(parseOrder(args));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(failure(e));
         }
+        return created.handle((order, error) -> {
+            if (error != null) {
+                throw failure(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+            return format(order);
+        });
+    }
+
+    private static String format(Order createdOrder) {
+        return "Order created: " + createdOrder.getId();
+    }
+
+    private static IllegalArgumentException failure(Throwable error) {
+        return error instanceof IllegalArgumentException e
+                ? e
+                : new IllegalArgumentException("Failed to create order: " + error.getMessage());
+    }
+
+    /**
+     * Parses and validates new order arguments without submitting anything to the service.
+     *
+     * @param args Command arguments in the format: new [buy|sell] <investment ccy> <counter ccy> <limit> <validity>
+     * @return The validated order, ready to be created
+     * @throws IllegalArgumentException if any of the parameters are invalid or the currency pair is not supported
+     */
+    public static Order parseOrder(String[] args) {
+        if (args.length != 6) {
+            throw new IllegalArgumentException("Usage: new [buy|sell] <investment ccy> <counter ccy> <limit> <validity>");
+        }
+
+        OrderType type = parseOrderType(args[1]);
+        Currency investmentCcy = parseCurrency(args[2]);
+        Currency counterCcy = parseCurrency(args[3]);
+        validateCurrencyPair(investmentCcy, counterCcy);
+        double limit = parseLimit(args[4]);
+        LocalDate validity = parseValidity(args[5]);
+
+        return new Order(type, investmentCcy, counterCcy, limit, validity);
     }
 
     /**
@@ -79,7 +105,7 @@ public class NewOrderCommand implements Command {
      * @throws IllegalArgumentException if the order type is invalid
      */
 
-    private OrderType parseOrderType(String typeStr) {
+    private static OrderType parseOrderType(String typeStr) {
         try {
             return OrderType.valueOf(typeStr.toUpperCase());
         } catch (IllegalArgumentException e) {
@@ -94,7 +120,7 @@ public class NewOrderCommand implements Command {
      * @return The corresponding Currency enum value
      * @throws IllegalArgumentException if the currency code is invalid
      */
-    private Currency parseCurrency(String currencyStr) {
+    private static Currency parseCurrency(String currencyStr) {
         try {
             return Currency.fromString(currencyStr);
         } catch (IllegalArgumentException e) {
@@ -109,7 +135,7 @@ public class NewOrderCommand implements Command {
      * @param ccy2 The second currency
      * @throws IllegalArgumentException if the currencies are the same or the pair is not supported
      */
-    private void validateCurrencyPair(Currency ccy1, Currency ccy2) {
+    private static void validateCurrencyPair(Currency ccy1, Currency ccy2) {
         if (ccy1 == ccy2) {
             throw new IllegalArgumentException("Investment and counter currency cannot be the same: " + ccy1);
         }
@@ -117,8 +143,8 @@ public class NewOrderCommand implements Command {
         CurrencyPair pair = new CurrencyPair(ccy1, ccy2);
         CurrencyPair reversePair = new CurrencyPair(ccy2, ccy1);
 
-        if (!SUPPORTED_PAIRS.contains(pair) && !SUPPORTED_PAIRS.contains(reversePair)) {
-            String supportedPairs = SUPPORTED_PAIRS.stream()
+        if (!CurrencyPair.SUPPORTED.contains(pair) && !CurrencyPair.SUPPORTED.contains(reversePair)) {
+            String supportedPairs = CurrencyPair.SUPPORTED.stream()
                     .map(p -> p.getCcy1() + "/" + p.getCcy2())
                     .collect(Collectors.joining(", "));
 
@@ -135,7 +161,7 @@ public class NewOrderCommand implements Command {
      * @return The parsed limit price as a double
      * @throws IllegalArgumentException if the limit is invalid or not positive
      */
-    private double parseLimit(String limitStr) {
+    private static double parseLimit(String limitStr) {
         try {
             double limit = Double.parseDouble(limitStr);
             if (limit <= 0) {
@@ -155,7 +181,7 @@ public class NewOrderCommand implements Command {
      * @throws IllegalArgumentException if the date format is invalid or the date is in the past
      */
 
-    private LocalDate parseValidity(String validityStr) {
+    private static LocalDate parseValidity(String validityStr) {
         try {
             LocalDate validity = LocalDate.parse(validityStr, DATE_FORMATTER);
             LocalDate today = LocalDate.now();
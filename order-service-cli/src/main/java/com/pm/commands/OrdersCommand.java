@@ -1,143 +1,304 @@
 package com.pm.commands;
 
-import com.google.common.collect.Ordering;
-import com.pm.models.FXRate;
+import com.pm.models.BoundedMaxHeap;
+import com.pm.models.CrossRateEngine;
+import com.pm.models.Currency;
 import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.output.RecordWriter;
+import com.pm.output.RowWriter;
+import com.pm.output.TableWriter;
 import com.pm.service.OrderService;
 import lombok.RequiredArgsConstructor;
 
+import java.io.PrintStream;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Comparator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Command implementation for displaying all orders in the order book.
- * Orders are displayed sorted by currency pair and their distance to current market rates.
+ * Orders are displayed sorted by currency pair and their distance to current market rates,
+ * optionally restricted to one pair or to the nearest orders per pair.
+ * With {@code --format csv|jsonl} the orders are written as records instead, optionally to a file.
  */
 @RequiredArgsConstructor
 public class OrdersCommand implements Command {
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-    
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("ID", 4),
+            TableWriter.left("TYPE", 4),
+            TableWriter.left("INV", 4),
+            TableWriter.left("CTR", 4),
+            TableWriter.right("LIMIT", 8),
+            TableWriter.right("VALIDITY", 12),
+            TableWriter.right("DISTANCE", 8));
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int[] PAIR_NAME_RANK = rankPairsByName();
+    private static final int ANY_PAIR = -1;
+    private static final String USAGE = "Usage: orders [--top <n>] [--pair <CCY1CCY2>] [--page <n>] [--page-size <n>] "
+            + OutputOptions.USAGE;
+
     private final OrderService orderService;
 
     /**
      * Executes the orders command, displaying all orders sorted by currency pair and distance to market rate.
+     * With {@code --top N} only the N orders nearest to the market are shown for each pair, selected with a
+     * bounded heap per pair while the orders stream in, instead of sorting the whole book.
+     * With {@code --page N} only one page of the sorted listing is rendered; paging does not apply to {@code --top}.
+     * <p>
+     * With {@code --format csv} or {@code --format jsonl} each order is written as it streams in, in the order
+     * the service returns them rather than sorted, so dumping a book runs in constant memory; {@code --top}
+     * still selects the nearest orders per pair first.
      *
-     * @param args Command arguments (not used for this command)
+     * @param args Command arguments in the format described by {@link #USAGE}
+     * @throws IllegalArgumentException if the options are invalid
      * @throws Exception If an error occurs while fetching or processing orders
      */
     @Override
     public void execute(String[] args) throws Exception {
-        List<Order> orders = orderService.getAllOrders();
-        List<FXRate> rates = orderService.getExchangeRates();
+        CommandOptions options = new CommandOptions(args);
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        OutputOptions output = new OutputOptions(options);
+        if (!output.isTable() && (options.has("page") || options.has("page-size"))) {
+            throw new IllegalArgumentException("--page and --page-size are only supported for table output");
+        }
+        if (options.has("page-size") && !options.has("page")) {
+            throw new IllegalArgumentException("--page-size requires --page");
+        }
+        if (options.has("top") && options.has("page")) {
+            throw new IllegalArgumentException("--page and --page-size cannot be combined with --top");
+        }
+        int pairFilter = options.has("pair") ? parsePair(options.get("pair", "")) : ANY_PAIR;
+
+        RateTable rateTable = CrossRateEngine.complete(RateTable.of(orderService.getExchangeRates()));
 
-        if (orders.isEmpty()) {
+        if (options.has("top")) {
+            printNearestOrders(options.getPositiveInt("top", 1), pairFilter, rateTable, output);
+            return;
+        }
+
+        if (!output.isTable()) {
+            try (RecordWriter records = output.open(COLUMNS)) {
+                streamOrders(pairFilter, order -> writeOrder(records, order.getId(), order.isBuy(),
+                        order.getInvestmentCcy(), order.getCounterCcy(), order.getLimit(), order.getValidUntil(),
+                        calculateDistance(pairIndex(order), order.getLimit(), rateTable)));
+            }
+            return;
+        }
+
+        OrderStore store = new OrderStore();
+        if (pairFilter == ANY_PAIR) {
+            orderService.loadOrders(store);
+        } else {
+            streamOrders(pairFilter, store);
+        }
+        int[] rows = store.select(row -> true);
+
+        if (rows.length == 0) {
             System.out.println("No orders to display");
             return;
         }
 
-        Map<String, FXRate> rateMap = createRateMap(rates);
-        List<OrderWithDistance> ordersWithDistance = calculateDistances(orders, rateMap);
-        printOrders(ordersWithDistance);
+        double[] distances = calculateDistances(store, rateTable);
+        OrderStore.sort(rows, createOrderingRule(store, distances));
+
+        renderTable(System.out, store, rows, distances,
+                options.has("page") ? options.getPositiveInt("page", 1) : 0,
+                options.getPositiveInt("page-size", DEFAULT_PAGE_SIZE));
     }
 
     /**
-     * Creates a map of currency pairs to their corresponding FX rates.
+     * Streams the book and prints the {@code top} orders nearest to the market for each pair, in O(n log top).
      *
-     * @param rates List of FX rates to map
-     * @return Map of currency pair strings to their FX rate objects
+     * @param top Number of orders to keep per pair
+     * @param pairFilter The only pair to consider, or {@link #ANY_PAIR}
+     * @param rateTable Current rates for every pair and its inverse
+     * @param output Where and in which format to write the orders
+     * @throws Exception If an error occurs while fetching orders
      */
-    private Map<String, FXRate> createRateMap(List<FXRate> rates) {
-        return rates.stream()
-                .collect(Collectors.toMap(
-                        rate -> rate.getCcyPair().getCcy1().toString() + rate.getCcyPair().getCcy2().toString(),
-                        rate -> rate
-                ));
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void printNearestOrders(int top, int pairFilter, RateTable rateTable, OutputOptions output)
+            throws Exception {
+        BoundedMaxHeap<Order>[] nearest = new BoundedMaxHeap[PAIR_NAME_RANK.length];
+
+        streamOrders(pairFilter, order -> {
+            int pair = pairIndex(order);
+            if (nearest[pair] == null) {
+                nearest[pair] = new BoundedMaxHeap<>(top);
+            }
+            nearest[pair].offer(calculateDistance(pair, order.getLimit(), rateTable), order);
+        });
+
+        if (output.isTable() && Arrays.stream(nearest).allMatch(Objects::isNull)) {
+            System.out.println("No orders to display");
+            return;
+        }
+
+        try (RowWriter writer = output.isTable() ? new TableWriter(System.out, COLUMNS).header('-') : output.open(COLUMNS)) {
+            for (int pair : RateTable.pairsInNameOrder()) {
+                if (nearest[pair] == null) {
+                    continue;
+                }
+                for (Order order : nearest[pair].drainAscending()) {
+                    writeOrder(writer, order.getId(), order.isBuy(), order.getInvestmentCcy(), order.getCounterCcy(),
+                            order.getLimit(), order.getValidUntil(), calculateDistance(pair, order.getLimit(), rateTable));
+                }
+            }
+        }
     }
 
     /**
-     * Calculates distances between order limits and current market rates.
+     * Renders rows of the book as the orders table, followed by a page footer when one page is requested.
      *
-     * @param orders List of orders to process
-     * @param rateMap Map of currency pairs to their FX rates
-     * @return List of orders with their calculated distances to market rates
+     * @param out Stream to print to
+     * @param store The orders
+     * @param rows The rows to render, in display order
+     * @param distances Distances indexed by store row
+     * @param page 1-based page to render, or 0 for every row
+     * @param pageSize Rows per page
+     * @return Number of orders rendered
+     * @throws IllegalArgumentException if the page is past the last page
      */
-    private List<OrderWithDistance> calculateDistances(List<Order> orders, Map<String, FXRate> rateMap) {
-        return orders.stream()
-                .map(order -> new OrderWithDistance(order, calculateDistance(order, rateMap)))
-                .sorted(createOrderingRule())
-                .toList();
+    public static int renderTable(PrintStream out, OrderStore store, int[] rows, double[] distances,
+                                  int page, int pageSize) {
+        int pages = (int) ((rows.length + (long) pageSize - 1) / pageSize);
+        if (page > pages) {
+            throw new IllegalArgumentException("Page " + page + " is past the last page (" + pages + ")");
+        }
+
+        try (TableWriter table = new TableWriter(out, COLUMNS)) {
+            if (page > 0) {
+                table.page(page, pageSize);
+            }
+            table.header('-');
+
+            int rendered = 0;
+            for (int row : rows) {
+                if (table.isPageFull()) {
+                    break;
+                }
+                if (table.beginRow()) {
+                    writeOrder(table, store.id(row), store.isBuy(row), store.investmentCcy(row).name(),
+                            store.counterCcy(row).name(), store.limit(row), store.validUntil(row), distances[row]);
+                    rendered++;
+                }
+            }
+
+            if (page > 0) {
+                table.line("Page " + page + " of " + pages + " (" + rows.length + " orders)");
+            }
+            return rendered;
+        }
     }
 
     /**
-     * Calculates the distance between an order's limit price and the current market rate.
+     * Streams the orders of one pair, which services holding the book locally serve from their pair index,
+     * or every order.
      *
-     * @param order The order to calculate distance for
-     * @param rateMap Map of currency pairs to their FX rates
-     * @return The calculated distance, or 0.0 if no rate is found
+     * @param pairFilter The only pair to stream, or {@link #ANY_PAIR}
+     * @param consumer Receives each order
+     * @throws Exception If an error occurs while fetching orders
      */
-    private double calculateDistance(Order order, Map<String, FXRate> rateMap) {
-        String pair = order.getInvestmentCcy() + order.getCounterCcy();
-        FXRate rate = rateMap.get(pair);
-
-        if (rate != null) {
-            return Math.abs(rate.getAsk() - order.getLimit());
+    private void streamOrders(int pairFilter, Consumer<Order> consumer) throws Exception {
+        if (pairFilter == ANY_PAIR) {
+            orderService.streamOrders(consumer);
+        } else {
+            orderService.streamOrders(RateTable.base(pairFilter), RateTable.quote(pairFilter), consumer);
         }
+    }
 
-        String reversePair = order.getCounterCcy() + order.getInvestmentCcy();
-        FXRate reverseRate = rateMap.get(reversePair);
-
-        if (reverseRate != null) {
-            return Math.abs(reverseRate.getAsk() - order.getLimit());
+    /**
+     * Calculates the distance of every order in the store to the current market rate.
+     *
+     * @param store The orders to process
+     * @param rateTable Current rates for every pair and its inverse
+     * @return Distances indexed by store row
+     */
+    public static double[] calculateDistances(OrderStore store, RateTable rateTable) {
+        double[] distances = new double[store.size()];
+        for (int row = 0; row < distances.length; row++) {
+            distances[row] = calculateDistance(store.pairId(row), store.limit(row), rateTable);
         }
-
-        return 0.0;
+        return distances;
     }
 
-    private Ordering<OrderWithDistance> createOrderingRule() {
-        return Ordering.from(
-                Comparator.<OrderWithDistance, String>comparing(o -> o.order().getInvestmentCcy() + o.order().getCounterCcy())
-                        .thenComparingDouble(OrderWithDistance::distance)
-        );
+    /**
+     * Calculates the distance between an order's limit price and the current market rate.
+     * Orders quoted against the inverse of a service pair are compared with the inverted rate, and orders on
+     * pairs the service does not quote with the cross rate, if the table was completed by a {@link CrossRateEngine}.
+     *
+     * @param order The order to calculate distance for
+     * @param rateTable Current rates for every pair and its inverse
+     * @return The calculated distance, or 0.0 if no rate is found
+     */
+    public static double calculateDistance(Order order, RateTable rateTable) {
+        return calculateDistance(pairIndex(order), order.getLimit(), rateTable);
     }
 
-    private void printOrders(List<OrderWithDistance> ordersWithDistance) {
-        System.out.printf("%-4s %-4s %-4s %-4s %8s %12s %8s%n",
-                "ID", "TYPE", "INV", "CTR", "LIMIT", "VALIDITY", "DISTANCE");
-        System.out.println("-----------------------------------------------------");
-
-        ordersWithDistance.forEach(this::printOrder);
+    private static int pairIndex(Order order) {
+        return RateTable.index(Currency.valueOf(order.getInvestmentCcy()), Currency.valueOf(order.getCounterCcy()));
     }
 
-
-    private void printOrder(OrderWithDistance orderWithDistance) {
-        Order order = orderWithDistance.order();
-        String orderType = order.isBuy() ? "buy" : "sell";
-        String formattedValidUntil = formatDate(order.getValidUntil());
-
-        System.out.printf("%-4s %-4s %-4s %-4s %8.2f %12s %8.3f%n",
-                order.getId(),
-                orderType,
-                order.getInvestmentCcy(),
-                order.getCounterCcy(),
-                order.getLimit(),
-                formattedValidUntil,
-                orderWithDistance.distance());
+    /**
+     * Parses a pair given as six letters or with a separator, e.g. EURUSD or EUR/USD.
+     *
+     * @param pair The pair text
+     * @return The pair index
+     * @throws IllegalArgumentException if the text is not a pair of supported currencies
+     */
+    static int parsePair(String pair) {
+        String letters = pair.replaceAll("[^A-Za-z]", "");
+        if (letters.length() != 6) {
+            throw new IllegalArgumentException("Invalid currency pair: " + pair + ". Expected e.g. EURUSD");
+        }
+        return RateTable.index(Currency.fromString(letters.substring(0, 3)), Currency.fromString(letters.substring(3)));
     }
 
-    private String formatDate(LocalDate date) {
-        return date != null ? date.format(DATE_FORMATTER) : "N/A";
+    private static double calculateDistance(int pair, double limit, RateTable rateTable) {
+        if (rateTable.has(pair)) {
+            return Math.abs(rateTable.ask(pair) - limit);
+        }
+
+        return 0.0;
     }
 
     /**
-     * Record representing an order and its distance to the current market rate.
+     * Orders rows by currency pair name, then by distance to the market.
      *
-     * @param order The order
-     * @param distance The calculated distance to current market rate
+     * @param store The orders being sorted
+     * @param distances Distances indexed by store row
+     * @return Comparator over store rows
      */
-    private record OrderWithDistance(Order order, double distance) {
+    public static OrderStore.RowComparator createOrderingRule(OrderStore store, double[] distances) {
+        return (row1, row2) -> {
+            int result = Integer.compare(PAIR_NAME_RANK[store.pairId(row1)], PAIR_NAME_RANK[store.pairId(row2)]);
+            return result != 0 ? result : Double.compare(distances[row1], distances[row2]);
+        };
+    }
+
+    private static void writeOrder(RowWriter writer, String id, boolean buy, String investmentCcy, String counterCcy,
+                            double limit, LocalDate validUntil, double distance) {
+        writer.text(id)
+                .text(buy ? "buy" : "sell")
+                .text(investmentCcy)
+                .text(counterCcy)
+                .decimal(limit, 2)
+                .date(validUntil)
+                .decimal(distance, 3)
+                .endRow();
+    }
+
+    private static int[] rankPairsByName() {
+        int[] pairs = RateTable.pairsInNameOrder();
+        int[] ranks = new int[pairs.length];
+        for (int rank = 0; rank < pairs.length; rank++) {
+            ranks[pairs[rank]] = rank;
+        }
+        return ranks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.pm.commands;
+
+import com.pm.output.RecordWriter;
+import com.pm.output.TableWriter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The {@code --format} and {@code --out} options shared by commands that can write machine-readable output.
+ */
+final class OutputOptions {
+    /** Usage text for the options */
+    static final String USAGE = "[--format table|csv|jsonl] [--out <file>]";
+
+    /** The record format, or {@code null} for the console table */
+    private final RecordWriter.Format format;
+    private final Path out;
+
+    /**
+     * @param options The command options to read
+     * @throws IllegalArgumentException if the format is unknown or {@code --out} is given for table output
+     */
+    OutputOptions(CommandOptions options) {
+        String name = options.get("format", "table").toLowerCase(Locale.ROOT);
+        this.format = switch (name) {
+            case "table" -> null;
+            case "csv" -> RecordWriter.Format.CSV;
+            case "jsonl" -> RecordWriter.Format.JSONL;
+            default -> throw new IllegalArgumentException("Invalid format: " + name + ". Expected table, csv or jsonl");
+        };
+        this.out = options.has("out") ? Path.of(options.get("out", "")) : null;
+        if (format == null && out != null) {
+            throw new IllegalArgumentException("--out requires --format csv or jsonl");
+        }
+    }
+
+    /**
+     * @return {@code true} for the console table
+     */
+    boolean isTable() {
+        return format == null;
+    }
+
+    /**
+     * Opens a record writer on the output file, or on standard output.
+     *
+     * @param columns The fields of each row, in order
+     * @return The writer
+     * @throws IllegalArgumentException if the output file cannot be opened
+     */
+    RecordWriter open(List<TableWriter.Column> columns) {
+        if (out == null) {
+            return RecordWriter.toStream(System.out, format, columns);
+        }
+        try {
+            return RecordWriter.toFile(out, format, columns);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to open output file: " + e.getMessage());
+        }
+    }
+}
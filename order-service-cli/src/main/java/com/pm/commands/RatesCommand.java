@@ -1,35 +1,96 @@
 package com.pm.commands;
 
+import com.pm.models.CrossRateEngine;
+import com.pm.models.Currency;
 import com.pm.models.FXRate;
+import com.pm.models.RateTable;
+import com.pm.output.TableWriter;
 import com.pm.service.OrderService;
+import com.pm.service.RatePoller;
+import org.HdrHistogram.Histogram;
 
+import java.io.BufferedReader;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Command implementation for displaying current exchange rates.
- * Shows bid and ask prices for all available currency pairs.
+ * Shows bid and ask prices for all available currency pairs, once or continuously with {@code --watch}.
+ * With {@code --all} every pair between two currencies is shown, using triangulated cross rates where the
+ * service has no quote.
+ * <p>
+ * In watch mode the table is drawn once and afterwards only the rows whose rates changed are rewritten in
+ * place, using ANSI cursor movement when a console is attached. Without a console, or with {@code --plain},
+ * changed rows are appended below the table instead.
  */
 public class RatesCommand implements Command {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("FROM", 8),
+            TableWriter.left("TO", 8),
+            TableWriter.right("BID", 10),
+            TableWriter.right("ASK", 10));
+    private static final List<TableWriter.Column> ALL_COLUMNS = List.of(
+            TableWriter.left("FROM", 8),
+            TableWriter.left("TO", 8),
+            TableWriter.right("BID", 10),
+            TableWriter.right("ASK", 10),
+            TableWriter.left("SOURCE", 12));
+    private static final String USAGE = "Usage: rates [--all | --watch [--min-interval <ms>] [--max-interval <ms>] "
+            + "[--duration <s>] [--plain]]";
+    private static final int DEFAULT_MIN_INTERVAL_MILLIS = 250;
+    private static final int DEFAULT_MAX_INTERVAL_MILLIS = 4000;
+    private static final String ESC = "\u001B[";
+
     /** Service for accessing exchange rate operations */
     private final OrderService orderService;
+    /** Input watched for the Enter key that stops watch mode */
+    private final BufferedReader input;
 
     /**
-     * Constructs a new RatesCommand with the specified order service.
+     * Constructs a new RatesCommand without interactive input, so watching requires a duration.
      *
      * @param orderService The service to use for retrieving exchange rates
      */
     public RatesCommand(OrderService orderService) {
+        this(orderService, null);
+    }
+
+    /**
+     * Constructs a new RatesCommand that stops watching when a line is entered on the given input.
+     *
+     * @param orderService The service to use for retrieving exchange rates
+     * @param input The reader the CLI takes commands from, or {@code null} when running a script
+     */
+    public RatesCommand(OrderService orderService, BufferedReader input) {
         this.orderService = orderService;
+        this.input = input;
     }
 
     /**
      * Executes the rates command, displaying current exchange rates for all currency pairs.
      *
-     * @param args Command arguments (not used for this command)
+     * @param args Command arguments in the format described by {@link #USAGE}
+     * @throws IllegalArgumentException if the options are invalid
      * @throws Exception If an error occurs while fetching exchange rates
      */
     @Override
     public void execute(String[] args) throws Exception {
+        CommandOptions options = new CommandOptions(args, Set.of("watch", "plain", "all"));
+        if (!options.positional().isEmpty() || (options.has("all") && options.has("watch"))) {
+            throw new IllegalArgumentException(USAGE);
+        }
+        if (options.has("watch")) {
+            watch(options);
+            return;
+        }
+        if (options.has("all")) {
+            printAllPairs();
+            return;
+        }
+
         List<FXRate> rates = orderService.getExchangeRates();
 
         if (rates.isEmpty()) {
@@ -37,15 +98,138 @@ public class RatesCommand implements Command {
             return;
         }
 
-        System.out.printf("%-8s %-8s %10s %10s%n", "FROM", "TO", "BID", "ASK");
-        System.out.println("-------------------------------------");
+        try (TableWriter table = new TableWriter(System.out, COLUMNS)) {
+            table.header('-');
+            for (FXRate rate : rates) {
+                table.text(rate.getCcyPair().getCcy1().name())
+                        .text(rate.getCcyPair().getCcy2().name())
+                        .decimal(rate.getBid(), 4)
+                        .decimal(rate.getAsk(), 4)
+                        .endRow();
+            }
+        }
+    }
+
+    /**
+     * Prints every pair between two different currencies that can be priced, with triangulated cross rates
+     * for the pairs the service does not quote.
+     */
+    private void printAllPairs() throws Exception {
+        RateTable quoted = RateTable.of(orderService.getExchangeRates());
+        CrossRateEngine crossRates = new CrossRateEngine();
+        crossRates.update(quoted);
+        RateTable rates = crossRates.table();
+
+        try (TableWriter table = new TableWriter(System.out, ALL_COLUMNS)) {
+            for (int pair : RateTable.pairsInNameOrder()) {
+                if (RateTable.base(pair) == RateTable.quote(pair) || !rates.has(pair)) {
+                    continue;
+                }
+                if (table.getRowsWritten() == 0) {
+                    table.header('-');
+                }
+                List<Currency> via = crossRates.via(pair);
+                table.text(RateTable.base(pair).name())
+                        .text(RateTable.quote(pair).name())
+                        .decimal(rates.bid(pair), 4)
+                        .decimal(rates.ask(pair), 4)
+                        .text(quoted.isQuoted(pair) ? "quoted"
+                                : via.isEmpty() ? "inverse"
+                                : "via " + via.stream().map(Currency::name).collect(Collectors.joining(",")))
+                        .endRow();
+            }
+
+            if (table.getRowsWritten() == 0) {
+                table.line("No exchange rates available");
+            }
+        }
+    }
+
+    /**
+     * Polls rates until Enter is pressed or the optional duration has passed, redrawing changed rows.
+     */
+    private void watch(CommandOptions options) throws Exception {
+        RatePoller poller = new RatePoller(orderService,
+                Duration.ofMillis(options.getPositiveInt("min-interval", DEFAULT_MIN_INTERVAL_MILLIS)),
+                Duration.ofMillis(options.getPositiveInt("max-interval", DEFAULT_MAX_INTERVAL_MILLIS)));
+        WatchInput watchInput = new WatchInput(input, options.has("duration")
+                ? Duration.ofSeconds(options.getPositiveInt("duration", 1))
+                : null);
+        boolean ansi = System.console() != null && !options.has("plain");
+
+        System.out.println("Watching rates, press Enter to stop");
+        int[] displayedPairs = null;
+        try (TableWriter table = new TableWriter(System.out, COLUMNS)) {
+            do {
+                String error = null;
+                RatePoller.Update update = null;
+                try {
+                    update = poller.poll();
+                } catch (Exception e) {
+                    error = e.getMessage();
+                }
+                int[] changedPairs = update == null ? new int[0] : update.changedPairs();
+
+                if (update != null && (displayedPairs == null || update.pairSetChanged())) {
+                    displayedPairs = quotedPairs(update.rates());
+                    table.header('-');
+                    for (int pair : displayedPairs) {
+                        writeRate(table, update.rates(), pair);
+                    }
+                    table.line(status(poller, error));
+                } else if (displayedPairs == null) {
+                    table.line("Poll failed: " + error);
+                } else if (ansi) {
+                    for (int pair : changedPairs) {
+                        int linesUp = displayedPairs.length - indexOf(displayedPairs, pair) + 1;
+                        table.raw(ESC + linesUp + "A\r");
+                        writeRate(table, update.rates(), pair);
+                        table.raw(ESC + (linesUp - 1) + "B\r");
+                    }
+                    table.raw(ESC + "1A\r" + ESC + "K").line(status(poller, error));
+                } else if (update == null || changedPairs.length > 0) {
+                    for (int pair : changedPairs) {
+                        writeRate(table, update.rates(), pair);
+                    }
+                    table.line(status(poller, error));
+                }
+                table.flush();
+            } while (watchInput.awaitNextPoll(poller.nextInterval()));
+        }
+
+        System.out.println("Stopped watching: " + status(poller, null));
+    }
+
+    private static void writeRate(TableWriter table, RateTable rates, int pair) {
+        table.text(RateTable.base(pair).name())
+                .text(RateTable.quote(pair).name())
+                .decimal(rates.bid(pair), 4)
+                .decimal(rates.ask(pair), 4)
+                .endRow();
+    }
 
-        for (FXRate rate : rates) {
-            System.out.printf("%-8s %-8s %10.4f %10.4f%n",
-                    rate.getCcyPair().getCcy1(),
-                    rate.getCcyPair().getCcy2(),
-                    rate.getBid(),
-                    rate.getAsk());
+    private static int[] quotedPairs(RateTable rates) {
+        return Arrays.stream(RateTable.pairsInNameOrder()).filter(rates::isQuoted).toArray();
+    }
+
+    private static int indexOf(int[] pairs, int pair) {
+        for (int i = 0; i < pairs.length; i++) {
+            if (pairs[i] == pair) {
+                return i;
+            }
         }
+        throw new IllegalStateException("Pair " + pair + " is not displayed");
+    }
+
+    private static String status(RatePoller poller, String error) {
+        Histogram latency = poller.getLatency().snapshot();
+        return String.format("%d polls, %d changed, %d rate updates, %d failed, next poll in %d ms, "
+                        + "latency p50 %.1f ms p99 %.1f ms max %.1f ms%s",
+                poller.getPolls(), poller.getChangedPolls(), poller.getChangedPairs(), poller.getFailures(),
+                poller.nextInterval().toMillis(),
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(99) / 1000.0,
+                latency.getMaxValue() / 1000.0,
+                error == null ? "" : " - last poll failed: " + error);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.pm.commands;
+
+import com.pm.metrics.MetricsRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Command implementation for displaying request and command metrics.
+ * Shows request counts, errors, bytes and network and decode latency per service endpoint, and execution
+ * counts, latency and rendered rows per command.
+ */
+@RequiredArgsConstructor
+public class StatsCommand implements Command {
+    private final MetricsRegistry metrics;
+
+    /**
+     * Executes the stats command, printing the metrics collected so far.
+     *
+     * @param args Command arguments in the format: stats [--reset]
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    @Override
+    public void execute(String[] args) {
+        CommandOptions options = new CommandOptions(args, Set.of("reset"));
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException("Usage: stats [--reset]");
+        }
+
+        metrics.print(System.out);
+        if (options.has("reset")) {
+            metrics.reset();
+            System.out.println("Metrics reset");
+        }
+    }
+}
@@ -1,93 +1,106 @@
 package com.pm.commands;
 
-import com.pm.models.Order;
+import com.pm.models.Currency;
+import com.pm.models.OrderStore;
+import com.pm.models.OrderSummary;
+import com.pm.models.RateTable;
+import com.pm.output.RowWriter;
+import com.pm.output.TableWriter;
 import com.pm.service.OrderService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Command implementation for displaying a summary of orders grouped by currency pair and type.
- * Shows the count and average limit price for each group.
+ * Shows the count and the average, minimum, maximum and standard deviation of the limit price for each group,
+ * plus the total notional. Orders carry no amount, so each one counts as one unit of the investment currency
+ * and the notional is the sum of the limits, in the counter currency.
+ * With {@code --format csv|jsonl} the groups are written as records instead, optionally to a file.
  */
 
 @RequiredArgsConstructor
 public class SummaryCommand implements Command {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("TYPE", 7),
+            TableWriter.left("INV", 7),
+            TableWriter.left("CTR", 7),
+            TableWriter.right("COUNT", 5),
+            TableWriter.right("AVERAGE", 7),
+            TableWriter.right("MIN", 7),
+            TableWriter.right("MAX", 7),
+            TableWriter.right("STDDEV", 7),
+            TableWriter.right("NOTIONAL", 12));
+
     private final OrderService orderService;
 
     /**
      * Executes the summary command, displaying grouped statistics about current orders.
      *
-     * @param args Command arguments (not used for this command)
+     * For the console table the book is loaded into an {@link OrderStore} and aggregated in parallel; with
+     * {@code --format csv} or {@code --format jsonl} the orders are aggregated as they stream in, without
+     * holding the book.
+     *
+     * @param args Command arguments in the format: summary [--format table|csv|jsonl] [--out <file>]
+     * @throws IllegalArgumentException if the options are invalid
      * @throws Exception If an error occurs while fetching or processing orders
      */
 
     @Override
     public void execute(String[] args) throws Exception {
-        List<Order> orders = orderService.getAllOrders();
-
-        if (orders.isEmpty()) {
-            System.out.println("No orders to summarize");
+        CommandOptions options = new CommandOptions(args);
+        if (!options.positional().isEmpty()) {
+            throw new IllegalArgumentException("Usage: summary " + OutputOptions.USAGE);
+        }
+        OutputOptions output = new OutputOptions(options);
+        if (!output.isTable()) {
+            OrderSummary summary = OrderSummary.empty();
+            orderService.streamOrders(order -> summary.add(order.isBuy(),
+                    RateTable.index(Currency.valueOf(order.getInvestmentCcy()), Currency.valueOf(order.getCounterCcy())),
+                    order.getLimit()));
+            try (RowWriter records = output.open(COLUMNS)) {
+                writeGroups(records, summary);
+            }
             return;
         }
 
-//        Collects data
-        Map<SummaryKey, List<Order>> groupedOrders = orders.stream()
-                .collect(Collectors.groupingBy(order ->
-                        new SummaryKey(order.isBuy() ? "buy" : "sell",
-                                order.getInvestmentCcy(),
-                                order.getCounterCcy())));
+        OrderStore store = new OrderStore();
+        orderService.loadOrders(store);
 
-        System.out.printf("%-7s %-7s %-7s %4s %7s%n", "TYPE", "INV", "CTR", "COUNT", "AVERAGE");
-        System.out.println("====================================");
-
-        groupedOrders.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    SummaryKey key = entry.getKey();
-                    List<Order> orderList = entry.getValue();
+        if (store.isEmpty()) {
+            System.out.println("No orders to summarize");
+            return;
+        }
 
-                    double avgLimit = orderList.stream()
-                            .mapToDouble(Order::getLimit)
-                            .average()
-                            .orElse(0.0);
+        OrderSummary summary = OrderSummary.of(store);
 
-                    System.out.printf("%-7s %-7s %-7s %3d %7.2f%n",
-                            key.type, key.investmentCcy, key.counterCcy,
-                            orderList.size(), avgLimit);
-                });
+        try (TableWriter table = new TableWriter(System.out, COLUMNS)) {
+            table.header('=');
+            writeGroups(table, summary);
+        }
     }
-    /**
-     * Record representing a key for grouping orders by type and currency pair.
-     */
-
-    private record SummaryKey(String type, String investmentCcy, String counterCcy) implements Comparable<SummaryKey> {
-
-        /**
-         * Compares this key with another for sorting purposes.
-         *
-         * @param other The other key to compare with
-         * @return negative if this key is less than other, positive if greater, zero if equal
-         */
 
-        @Override
-        public int compareTo(SummaryKey other) {
-            if (other == null) {
-                return 1;
-            }
-
-            int result = this.investmentCcy.compareTo(other.investmentCcy);
-            if (result != 0) {
-                return result;
-            }
+    private void writeGroups(RowWriter writer, OrderSummary summary) {
+        for (int pair : RateTable.pairsInNameOrder()) {
+            writeGroup(writer, summary, "buy", pair, OrderSummary.group(true, pair));
+            writeGroup(writer, summary, "sell", pair, OrderSummary.group(false, pair));
+        }
+    }
 
-            result = this.counterCcy.compareTo(other.counterCcy);
-            if (result != 0) {
-                return result;
-            }
-            return this.type.compareTo(other.type);
+    private void writeGroup(RowWriter writer, OrderSummary summary, String type, int pair, int group) {
+        if (summary.count(group) == 0) {
+            return;
         }
+
+        writer.text(type)
+                .text(RateTable.base(pair).name())
+                .text(RateTable.quote(pair).name())
+                .integer(summary.count(group))
+                .decimal(summary.mean(group), 2)
+                .decimal(summary.min(group), 2)
+                .decimal(summary.max(group), 2)
+                .decimal(summary.stddev(group), 4)
+                .decimal(summary.sum(group), 2)
+                .endRow();
     }
-}
\ No newline at end of file
+}
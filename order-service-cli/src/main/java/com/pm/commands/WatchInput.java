@@ -0,0 +1,54 @@
+package com.pm.commands;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Paces the polling loop of a watching command and stops it when a line is entered or a deadline passes.
+ * <p>
+ * The input is the reader the CLI takes its commands from, so a line typed while watching is never split
+ * between two readers. Without an input, as when running a script, watching only ends at the deadline, which
+ * is therefore required.
+ */
+final class WatchInput {
+    private static final long INPUT_CHECK_NANOS = 50_000_000L;
+
+    private final BufferedReader input;
+    private final long deadline;
+
+    /**
+     * @param input The reader watched for the Enter key, or {@code null} if there is no interactive input
+     * @param duration How long to watch, or {@code null} to watch until Enter is pressed
+     * @throws IllegalArgumentException if there is neither an input nor a duration, so watching would never end
+     */
+    WatchInput(BufferedReader input, Duration duration) {
+        if (input == null && duration == null) {
+            throw new IllegalArgumentException("--duration is required when not running interactively");
+        }
+        this.input = input;
+        this.deadline = duration == null ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+    }
+
+    /**
+     * Sleeps until the next poll is due, checking for a line on the input in between.
+     *
+     * @param interval Time until the next poll
+     * @return {@code false} if watching should stop
+     */
+    boolean awaitNextPoll(Duration interval) throws IOException, InterruptedException {
+        long wakeUp = Math.min(System.nanoTime() + interval.toNanos(), deadline);
+        while (true) {
+            if (input != null && input.ready()) {
+                // Consume the line that stopped watching so it is not run as the next command
+                input.readLine();
+                return false;
+            }
+            long remaining = wakeUp - System.nanoTime();
+            if (remaining <= 0) {
+                return wakeUp < deadline;
+            }
+            Thread.sleep(Duration.ofNanos(Math.min(remaining, INPUT_CHECK_NANOS)));
+        }
+    }
+}
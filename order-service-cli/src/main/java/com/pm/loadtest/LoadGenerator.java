@@ -0,0 +1,201 @@
+package com.pm.loadtest;
+
+import com.pm.models.Order;
+import com.pm.server.SyntheticBook;
+import com.pm.service.OrderService;
+import com.pm.service.VirtualThreads;
+import org.HdrHistogram.Recorder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives an {@link OrderService} with a mix of creates, cancels, order retrievals and rate snapshots, and
+ * records the latency of every request in a high-dynamic-range histogram per operation.
+ * <p>
+ * In open-loop mode the latency of a request is measured from the time it was <em>scheduled</em> to be sent,
+ * not from when it actually was. If the service stalls, requests that should have gone out during the stall
+ * are charged the time they spent waiting, so the percentiles do not suffer from coordinated omission.
+ * Closed-loop mode measures service time only, which is what a fixed pool of callers experiences.
+ * <p>
+ * Cancels use the IDs of orders created earlier in the run; before any exist, they target an unknown ID.
+ */
+public class LoadGenerator {
+    private static final int ORDER_TEMPLATES = 1024;
+    private static final String UNKNOWN_ORDER_ID = "0";
+
+    private final OrderService orderService;
+    private final LoadProfile profile;
+    private final Operation[] operations = Operation.values();
+    private final int[] cumulativeWeights = new int[operations.length];
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final List<Order> orderTemplates;
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private volatile long measureFromNanos;
+    private volatile long measureUntilNanos;
+
+    /**
+     * @param orderService The service under test
+     * @param profile Rate, mix and duration of the run
+     */
+    public LoadGenerator(OrderService orderService, LoadProfile profile) {
+        this.orderService = orderService;
+        this.profile = profile;
+
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += profile.mix().getOrDefault(operations[i], 0);
+            cumulativeWeights[i] = total;
+            recorders.put(operations[i], new Recorder(3));
+            errors.put(operations[i], new LongAdder());
+        }
+
+        this.orderTemplates = SyntheticBook.orders(ORDER_TEMPLATES, profile.seed(), LocalDate.now());
+    }
+
+    /**
+     * Runs the warmup and the measured period, then waits for outstanding requests.
+     *
+     * @return Latencies and error counts of the measured period
+     * @throws InterruptedException If interrupted while running
+     */
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureFromNanos = start + profile.warmup().toNanos();
+        measureUntilNanos = measureFromNanos + profile.duration().toNanos();
+
+        if (profile.isOpenLoop()) {
+            runOpenLoop(start);
+        } else {
+            runClosedLoop();
+        }
+
+        Map<Operation, LoadReport.OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new LoadReport.OperationStats(
+                    recorders.get(operation).getIntervalHistogram(), errors.get(operation).sum()));
+        }
+        return new LoadReport(profile, stats, maxLagNanos.get());
+    }
+
+    private void runOpenLoop(long start) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(profile.concurrency());
+        SplittableRandom random = new SplittableRandom(profile.seed());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) profile.rate();
+
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= measureUntilNanos) {
+                break;
+            }
+
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            inFlight.acquire();
+            maxLagNanos.accumulateAndGet(System.nanoTime() - intended, Math::max);
+
+            Operation operation = pick(random);
+            invoke(operation, random).whenComplete((result, error) -> {
+                record(operation, intended, error != null);
+                inFlight.release();
+            });
+        }
+
+        inFlight.acquire(profile.concurrency());
+    }
+
+    private void runClosedLoop() throws InterruptedException {
+        SplittableRandom seeds = new SplittableRandom(profile.seed());
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < profile.concurrency(); i++) {
+            SplittableRandom random = seeds.split();
+            workers.add(VirtualThreads.executor().submit(() -> {
+                long started;
+                while ((started = System.nanoTime()) < measureUntilNanos) {
+                    Operation operation = pick(random);
+                    boolean failed = false;
+                    try {
+                        invoke(operation, random).join();
+                    } catch (RuntimeException e) {
+                        failed = true;
+                    }
+                    record(operation, started, failed);
+                }
+            }));
+        }
+
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+    }
+
+    private Operation pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private CompletableFuture<?> invoke(Operation operation, SplittableRandom random) {
+        try {
+            return switch (operation) {
+                case CREATE -> orderService.createOrderAsync(nextOrder(random))
+                        .thenAccept(created -> {
+                            if (created.getId() != null) {
+                                createdIds.add(created.getId());
+                            }
+                        });
+                case CANCEL -> {
+                    String orderId = createdIds.poll();
+                    yield orderService.cancelOrderAsync(orderId == null ? UNKNOWN_ORDER_ID : orderId);
+                }
+                case ORDERS -> orderService.getAllOrdersAsync();
+                case RATES -> orderService.getExchangeRatesAsync();
+            };
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Order nextOrder(SplittableRandom random) {
+        Order template = orderTemplates.get(random.nextInt(orderTemplates.size()));
+        return new Order(null, template.getInvestmentCcy(), template.isBuy(), template.getCounterCcy(),
+                template.getLimit(), template.getValidUntil());
+    }
+
+    private void record(Operation operation, long startNanos, boolean failed) {
+        if (startNanos < measureFromNanos) {
+            return;
+        }
+        if (failed) {
+            errors.get(operation).increment();
+        }
+        recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+}
@@ -0,0 +1,69 @@
+package com.pm.loadtest;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * What a {@link LoadGenerator} run should do.
+ * <p>
+ * With a positive {@code rate} the run is open-loop: requests are issued on a fixed schedule regardless of
+ * how fast the service answers, at most {@code concurrency} at a time. With a rate of zero it is closed-loop:
+ * {@code concurrency} workers each issue their next request as soon as the previous one completes.
+ *
+ * @param rate Target requests per second, or 0 for a closed loop
+ * @param concurrency Maximum requests in flight
+ * @param duration Length of the measured period
+ * @param warmup Length of the unmeasured period before it
+ * @param mix Relative weight of each operation
+ * @param seed Seed for the operation sequence
+ */
+public record LoadProfile(int rate, int concurrency, Duration duration, Duration warmup,
+                          Map<Operation, Integer> mix, long seed) {
+
+    public LoadProfile {
+        if (rate < 0) {
+            throw new IllegalArgumentException("Rate must not be negative");
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("Concurrency must be greater than zero");
+        }
+        if (duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive and warmup must not be negative");
+        }
+        if (mix.values().stream().anyMatch(weight -> weight < 0)
+                || mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation weights must not be negative and must not all be zero");
+        }
+        mix = Collections.unmodifiableMap(new EnumMap<>(mix));
+    }
+
+    /**
+     * Parses a mix such as {@code create=40,cancel=20,orders=10,rates=30}. Operations that are not listed get
+     * a weight of zero.
+     *
+     * @param text The mix specification
+     * @return Weight per operation
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static Map<Operation, Integer> parseMix(String text) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : text.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry + ". Expected e.g. create=40");
+            }
+            try {
+                mix.put(Operation.fromString(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in mix entry: " + entry);
+            }
+        }
+        return mix;
+    }
+
+    public boolean isOpenLoop() {
+        return rate > 0;
+    }
+}
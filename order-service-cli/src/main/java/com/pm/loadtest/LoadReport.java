@@ -0,0 +1,99 @@
+package com.pm.loadtest;
+
+import com.pm.output.TableWriter;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadGenerator} run: one latency histogram, in microseconds, per operation.
+ *
+ * @param profile The profile that was run
+ * @param operations Latencies and errors per operation
+ * @param maxSchedulingLagNanos Largest delay between a request's scheduled and actual send time; a large
+ *                              value means the generator, not the service, was the bottleneck
+ */
+public record LoadReport(LoadProfile profile, Map<Operation, OperationStats> operations, long maxSchedulingLagNanos) {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("OPERATION", 9),
+            TableWriter.right("COUNT", 8),
+            TableWriter.right("ERRORS", 7),
+            TableWriter.right("REQ/S", 9),
+            TableWriter.right("P50 ms", 9),
+            TableWriter.right("P90 ms", 9),
+            TableWriter.right("P99 ms", 9),
+            TableWriter.right("P99.9 ms", 9),
+            TableWriter.right("MAX ms", 9));
+
+    /**
+     * @return Latencies of every operation combined
+     */
+    public Histogram total() {
+        Histogram total = new Histogram(3);
+        operations.values().forEach(stats -> total.add(stats.latencies()));
+        return total;
+    }
+
+    public long totalErrors() {
+        return operations.values().stream().mapToLong(OperationStats::errors).sum();
+    }
+
+    /**
+     * @return Completed requests per second over the measured period
+     */
+    public double throughput() {
+        return total().getTotalCount() / (profile.duration().toNanos() / 1e9);
+    }
+
+    /**
+     * Prints one row per operation that ran, a total row and the run's settings.
+     *
+     * @param out The stream to print to
+     */
+    public void print(PrintStream out) {
+        try (TableWriter table = new TableWriter(out, COLUMNS)) {
+            table.header('-');
+            operations.forEach((operation, stats) -> {
+                if (stats.latencies().getTotalCount() > 0) {
+                    writeRow(table, operation.getLabel(), stats.latencies(), stats.errors());
+                }
+            });
+            writeRow(table, "total", total(), totalErrors());
+
+            table.line("");
+            table.line(profile.isOpenLoop()
+                    ? String.format("Open loop at %d req/s, at most %d in flight; latency measured from scheduled send time",
+                            profile.rate(), profile.concurrency())
+                    : String.format("Closed loop with %d callers; latency is service time only", profile.concurrency()));
+            table.line(String.format("Measured %.1f s after %.1f s warmup: %.1f req/s, %d errors, max scheduling lag %.3f ms",
+                    profile.duration().toMillis() / 1000.0, profile.warmup().toMillis() / 1000.0, throughput(),
+                    totalErrors(), maxSchedulingLagNanos / 1e6));
+        }
+    }
+
+    private void writeRow(TableWriter table, String label, Histogram latencies, long errors) {
+        table.text(label)
+                .integer(latencies.getTotalCount())
+                .integer(errors)
+                .decimal(latencies.getTotalCount() / (profile.duration().toNanos() / 1e9), 1)
+                .decimal(millis(latencies, 50), 3)
+                .decimal(millis(latencies, 90), 3)
+                .decimal(millis(latencies, 99), 3)
+                .decimal(millis(latencies, 99.9), 3)
+                .decimal(latencies.getMaxValue() / 1000.0, 3)
+                .endRow();
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * @param latencies Request latencies in microseconds, failed requests included
+     * @param errors Number of failed requests
+     */
+    public record OperationStats(Histogram latencies, long errors) {
+    }
+}
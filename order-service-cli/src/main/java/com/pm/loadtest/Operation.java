@@ -0,0 +1,33 @@
+package com.pm.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * A request type the {@link LoadGenerator} can issue.
+ */
+public enum Operation {
+    CREATE("create"),
+    CANCEL("cancel"),
+    ORDERS("orders"),
+    RATES("rates");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static Operation fromString(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equalsIgnoreCase(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Invalid operation: " + label + ". Supported operations: " +
+                String.join(", ", Arrays.stream(values()).map(Operation::getLabel).toList()));
+    }
+}
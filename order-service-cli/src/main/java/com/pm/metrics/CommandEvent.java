@@ -0,0 +1,31 @@
+package com.pm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one CLI command, from dispatch until its output has been written.
+ */
+@Name("com.pm.Command")
+@Label("CLI Command")
+@Category({"Order Service CLI", "Commands"})
+@Description("Execution of a command entered in the CLI")
+@StackTrace(false)
+public class CommandEvent extends Event {
+    @Label("Command")
+    public String command;
+
+    @Label("Argument Count")
+    public int argumentCount;
+
+    @Label("Outcome")
+    @Description("success or failure")
+    public String outcome;
+
+    @Label("Failure")
+    public String failure;
+}
@@ -0,0 +1,26 @@
+package com.pm.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one CLI command: how often it ran and failed, how long it took, how many table rows it
+ * rendered and how long writing them out took.
+ */
+@Getter
+public class CommandMetrics {
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LatencyHistogram time = new LatencyHistogram();
+    private final LatencyHistogram render = new LatencyHistogram();
+
+    void reset() {
+        executions.reset();
+        failures.reset();
+        rows.reset();
+        time.reset();
+        render.reset();
+    }
+}
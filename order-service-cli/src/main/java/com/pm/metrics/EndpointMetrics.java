@@ -0,0 +1,31 @@
+package com.pm.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one HTTP endpoint of the order service.
+ * <p>
+ * {@code latency} runs from sending the request until the response body has arrived (or, for streamed
+ * responses, until the headers have); {@code decode} covers parsing the body, including any part of it still
+ * being read off the network. Together they separate network time from JSON time.
+ */
+@Getter
+public class EndpointMetrics {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram decode = new LatencyHistogram();
+
+    void reset() {
+        requests.reset();
+        errors.reset();
+        bytesSent.reset();
+        bytesReceived.reset();
+        latency.reset();
+        decode.reset();
+    }
+}
@@ -0,0 +1,47 @@
+package com.pm.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for one request to the order service. The event's duration runs from sending the
+ * request until the response has been decoded.
+ */
+@Name("com.pm.HttpRequest")
+@Label("Order Service Request")
+@Category({"Order Service CLI", "HTTP"})
+@Description("A request from the CLI to the order service")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Status")
+    @Description("HTTP status code, or 0 if no response was received")
+    public int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Decode Time")
+    @Description("Time spent parsing the response body")
+    @Timespan
+    public long decodeTime;
+
+    @Label("Failure")
+    public String failure;
+}
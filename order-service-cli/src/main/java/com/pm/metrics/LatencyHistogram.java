@@ -0,0 +1,54 @@
+package com.pm.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency distribution in microseconds, safe to record into from any number of threads.
+ * <p>
+ * Writers go to one of several HdrHistogram {@link Recorder}s picked by thread ID, so concurrent requests
+ * rarely touch the same counters, and recording never blocks or allocates. Readers fold the recorders'
+ * intervals into a cumulative histogram when a snapshot is taken.
+ */
+public final class LatencyHistogram {
+    private static final int STRIPES =
+            Math.max(1, Integer.highestOneBit(Math.min(16, Runtime.getRuntime().availableProcessors()) * 2 - 1));
+
+    private final Recorder[] recorders = new Recorder[STRIPES];
+    private final Histogram cumulative = new Histogram(3);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            recorders[i] = new Recorder(3);
+        }
+    }
+
+    /**
+     * @param nanos The measured duration in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recorders[(int) Thread.currentThread().threadId() & (STRIPES - 1)]
+                .recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * @return Everything recorded since creation or the last {@link #reset()}
+     */
+    public synchronized Histogram snapshot() {
+        drain();
+        return cumulative.copy();
+    }
+
+    public synchronized void reset() {
+        drain();
+        cumulative.reset();
+    }
+
+    private void drain() {
+        for (Recorder recorder : recorders) {
+            cumulative.add(recorder.getIntervalHistogram());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pm.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends a {@link MetricsRegistry} report to a file at a fixed interval, and once more on close.
+ */
+@Slf4j
+public class MetricsFileWriter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param registry The metrics to write
+     * @param file The file to append to; it is created if missing
+     * @param interval Time between reports
+     */
+    public MetricsFileWriter(MetricsRegistry registry, Path file, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Metrics interval must be positive");
+        }
+        this.registry = registry;
+        this.file = file;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-file-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::write, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends the current report.
+     */
+    public void write() {
+        try (OutputStream stream = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+             PrintStream out = new PrintStream(stream, false)) {
+            registry.print(out);
+            out.println();
+        } catch (IOException e) {
+            log.warn("Failed to write metrics to {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        write();
+    }
+}
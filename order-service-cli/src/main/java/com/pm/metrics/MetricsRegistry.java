@@ -0,0 +1,198 @@
+package com.pm.metrics;
+
+import com.pm.output.TableWriter;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named endpoint and command metrics for the whole application.
+ * <p>
+ * Metrics are created on first use and live until the process exits; recording touches only lock-free
+ * counters and striped histograms. The command currently executing on a thread is tracked so that code which
+ * does not know which command it serves, such as {@link TableWriter}, can still attribute its work.
+ */
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private static final List<TableWriter.Column> ENDPOINT_COLUMNS = List.of(
+            TableWriter.left("ENDPOINT", 22),
+            TableWriter.right("REQS", 7),
+            TableWriter.right("ERRORS", 6),
+            TableWriter.right("KB OUT", 9),
+            TableWriter.right("KB IN", 10),
+            TableWriter.right("P50 ms", 9),
+            TableWriter.right("P99 ms", 9),
+            TableWriter.right("MAX ms", 9),
+            TableWriter.right("DEC P50", 9),
+            TableWriter.right("DEC P99", 9));
+    private static final List<TableWriter.Column> COMMAND_COLUMNS = List.of(
+            TableWriter.left("COMMAND", 22),
+            TableWriter.right("RUNS", 7),
+            TableWriter.right("FAILED", 6),
+            TableWriter.right("ROWS", 9),
+            TableWriter.right("P50 ms", 10),
+            TableWriter.right("P99 ms", 9),
+            TableWriter.right("MAX ms", 9),
+            TableWriter.right("RND P50", 9),
+            TableWriter.right("RND P99", 9));
+
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentSkipListMap<>();
+    private final Map<String, CommandMetrics> commands = new ConcurrentSkipListMap<>();
+    private final ThreadLocal<CommandMetrics> currentCommand = new ThreadLocal<>();
+    private volatile Instant since = Instant.now();
+
+    /**
+     * @return The registry shared by the service layer, the CLI and the output package
+     */
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @param path The endpoint path, e.g. /rateSnapshot
+     * @return The metrics for that endpoint
+     */
+    public EndpointMetrics endpoint(String path) {
+        return endpoints.computeIfAbsent(path, key -> new EndpointMetrics());
+    }
+
+    /**
+     * @param name The command name
+     * @return The metrics for that command
+     */
+    public CommandMetrics command(String name) {
+        return commands.computeIfAbsent(name, key -> new CommandMetrics());
+    }
+
+    /**
+     * Starts timing a command on the calling thread. Call {@link CommandExecution#succeeded()} when it completes
+     * normally and close the execution in any case.
+     *
+     * @param name The command name
+     * @return The running execution
+     */
+    public CommandExecution startCommand(String name) {
+        CommandMetrics metrics = command(name);
+        currentCommand.set(metrics);
+        return new CommandExecution(metrics, System.nanoTime());
+    }
+
+    /**
+     * Records a command that was timed elsewhere, e.g. one completed asynchronously on another thread.
+     *
+     * @param name The command name
+     * @param nanos Time from dispatch to completion
+     * @param succeeded {@code false} if the command failed
+     */
+    public void recordCommand(String name, long nanos, boolean succeeded) {
+        recordCommand(command(name), nanos, succeeded);
+    }
+
+    private static void recordCommand(CommandMetrics metrics, long nanos, boolean succeeded) {
+        metrics.getTime().recordNanos(nanos);
+        metrics.getExecutions().increment();
+        if (!succeeded) {
+            metrics.getFailures().increment();
+        }
+    }
+
+    /**
+     * Attributes rendered table rows to the command running on the calling thread, if any.
+     *
+     * @param rows Number of rows written
+     * @param nanos Time spent writing them
+     */
+    public void recordRender(long rows, long nanos) {
+        CommandMetrics metrics = currentCommand.get();
+        if (metrics != null) {
+            metrics.getRows().add(rows);
+            metrics.getRender().recordNanos(nanos);
+        }
+    }
+
+    public void reset() {
+        endpoints.values().forEach(EndpointMetrics::reset);
+        commands.values().forEach(CommandMetrics::reset);
+        since = Instant.now();
+    }
+
+    /**
+     * Prints one table for endpoints and one for commands, in name order.
+     *
+     * @param out The stream to print to
+     */
+    public void print(PrintStream out) {
+        try (TableWriter table = new TableWriter(out, ENDPOINT_COLUMNS)) {
+            table.line("Metrics since " + since.truncatedTo(ChronoUnit.SECONDS));
+            table.header('-');
+            endpoints.forEach((path, metrics) -> {
+                Histogram latency = metrics.getLatency().snapshot();
+                Histogram decode = metrics.getDecode().snapshot();
+                table.text(path)
+                        .integer(metrics.getRequests().sum())
+                        .integer(metrics.getErrors().sum())
+                        .decimal(metrics.getBytesSent().sum() / 1024.0, 1)
+                        .decimal(metrics.getBytesReceived().sum() / 1024.0, 1)
+                        .decimal(millis(latency, 50), 3)
+                        .decimal(millis(latency, 99), 3)
+                        .decimal(latency.getMaxValue() / 1000.0, 3)
+                        .decimal(millis(decode, 50), 3)
+                        .decimal(millis(decode, 99), 3)
+                        .endRow();
+            });
+        }
+
+        try (TableWriter table = new TableWriter(out, COMMAND_COLUMNS)) {
+            table.line("");
+            table.header('-');
+            commands.forEach((name, metrics) -> {
+                Histogram time = metrics.getTime().snapshot();
+                Histogram render = metrics.getRender().snapshot();
+                table.text(name)
+                        .integer(metrics.getExecutions().sum())
+                        .integer(metrics.getFailures().sum())
+                        .integer(metrics.getRows().sum())
+                        .decimal(millis(time, 50), 3)
+                        .decimal(millis(time, 99), 3)
+                        .decimal(time.getMaxValue() / 1000.0, 3)
+                        .decimal(millis(render, 50), 3)
+                        .decimal(millis(render, 99), 3)
+                        .endRow();
+            });
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * One timed run of a command.
+     */
+    public final class CommandExecution implements AutoCloseable {
+        private final CommandMetrics metrics;
+        private final long startNanos;
+        private boolean succeeded;
+
+        private CommandExecution(CommandMetrics metrics, long startNanos) {
+            this.metrics = metrics;
+            this.startNanos = startNanos;
+        }
+
+        public void succeeded() {
+            succeeded = true;
+        }
+
+        @Override
+        public void close() {
+            recordCommand(metrics, System.nanoTime() - startNanos, succeeded);
+            currentCommand.remove();
+        }
+    }
+}
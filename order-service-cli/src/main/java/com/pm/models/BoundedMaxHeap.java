@@ -0,0 +1,114 @@
+package com.pm.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the {@code capacity} entries with the smallest keys seen so far.
+ * <p>
+ * Backed by a binary max-heap over a primitive key array, so the current worst entry is always at the root:
+ * an offer that cannot make the cut costs one comparison, and one that can costs O(log capacity).
+ *
+ * @param <T> The value type
+ */
+public final class BoundedMaxHeap<T> {
+    private final double[] keys;
+    private final Object[] values;
+    private int size;
+
+    /**
+     * @param capacity Maximum number of entries to keep
+     */
+    public BoundedMaxHeap(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        keys = new double[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Offers an entry, keeping it only if it is among the smallest keys seen.
+     *
+     * @param key The ordering key
+     * @param value The value to keep
+     */
+    public void offer(double key, T value) {
+        if (size < keys.length) {
+            keys[size] = key;
+            values[size] = value;
+            siftUp(size++);
+        } else if (key < keys[0]) {
+            keys[0] = key;
+            values[0] = value;
+            siftDown(0);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the heap.
+     *
+     * @return The kept values, smallest key first
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> drainAscending() {
+        Object[] sorted = new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = values[0];
+            size--;
+            keys[0] = keys[size];
+            values[0] = values[size];
+            values[size] = null;
+            siftDown(0);
+        }
+
+        List<T> result = new ArrayList<>(sorted.length);
+        for (Object value : sorted) {
+            result.add((T) value);
+        }
+        return result;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (keys[parent] >= keys[index]) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < size && keys[left] > keys[largest]) {
+                largest = left;
+            }
+            if (right < size && keys[right] > keys[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        Object value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
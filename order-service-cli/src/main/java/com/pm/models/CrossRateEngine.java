@@ -0,0 +1,226 @@
+package com.pm.models;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Completes rate snapshots into a bid/ask matrix for every ordered currency pair by triangulation.
+ * <p>
+ * The quoted pairs form a graph over the currencies. Whenever the set of quoted pairs changes, the route with
+ * the fewest legs is found once for every pair that is not quoted directly or as an inverse, preferring
+ * intermediate currencies in declaration order (EUR, then USD, ...). The cross bid is the product of the leg
+ * bids and the cross ask the product of the leg asks, which is what selling or buying along the route costs.
+ * <p>
+ * Each quoted pair also remembers which crosses route through it, so an update where only some legs moved
+ * recomputes only the crosses depending on them. Lookups go to the {@link RateTable} returned by
+ * {@link #table()} and stay O(1) array reads. The engine is not thread-safe.
+ */
+public final class CrossRateEngine {
+    private static final int CURRENCIES = RateTable.CURRENCIES;
+    private static final int PAIRS = CURRENCIES * CURRENCIES;
+
+    private final boolean[] topology = new boolean[PAIRS];
+    private final double[] quotedBids = new double[PAIRS];
+    private final double[] quotedAsks = new double[PAIRS];
+    /** Directed legs of the route of every cross, indexed by the cross with the lower base ordinal */
+    private final int[][] routes = new int[PAIRS][];
+    /** Crosses routed through each quoted pair or its inverse */
+    private final int[][] dependents = new int[PAIRS][];
+    private RateTable table = new RateTable();
+    private boolean initialised;
+
+    /**
+     * @return The completed rates of the last update; the same instance is updated in place until the set
+     * of quoted pairs changes
+     */
+    public RateTable table() {
+        return table;
+    }
+
+    /**
+     * Applies a snapshot, recomputing only the crosses whose legs moved.
+     *
+     * @param snapshot Rates as quoted by the service
+     * @return Every pair index whose bid or ask changed, including inverses and crosses; every pair index
+     * when the set of quoted pairs changed
+     */
+    public int[] update(RateTable snapshot) {
+        if (!initialised || topologyChanged(snapshot)) {
+            rebuild(snapshot);
+            int[] pairs = new int[PAIRS];
+            Arrays.setAll(pairs, pair -> pair);
+            return pairs;
+        }
+
+        boolean[] changed = new boolean[PAIRS];
+        boolean[] dirty = new boolean[PAIRS];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            if (!topology[pair] || (quotedBids[pair] == snapshot.bid(pair) && quotedAsks[pair] == snapshot.ask(pair))) {
+                continue;
+            }
+            quotedBids[pair] = snapshot.bid(pair);
+            quotedAsks[pair] = snapshot.ask(pair);
+            table.put(RateTable.base(pair), RateTable.quote(pair), quotedBids[pair], quotedAsks[pair]);
+            changed[pair] = true;
+            changed[inverse(pair)] = true;
+            for (int cross : dependents[pair]) {
+                dirty[cross] = true;
+            }
+        }
+
+        for (int cross = 0; cross < PAIRS; cross++) {
+            if (dirty[cross]) {
+                computeCross(cross);
+                changed[cross] = true;
+                changed[inverse(cross)] = true;
+            }
+        }
+
+        int count = 0;
+        int[] pairs = new int[PAIRS];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            if (changed[pair]) {
+                pairs[count++] = pair;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    /**
+     * @param pair A pair index from {@link RateTable#index(Currency, Currency)}
+     * @return The intermediate currencies of the pair's route, empty for quoted pairs, inverses and
+     * unreachable pairs
+     */
+    public List<Currency> via(int pair) {
+        int base = pair / CURRENCIES;
+        int quote = pair % CURRENCIES;
+        int[] route = routes[base < quote ? pair : inverse(pair)];
+        if (route == null) {
+            return List.of();
+        }
+
+        List<Currency> currencies = new ArrayList<>(route.length - 1);
+        for (int i = 0; i < route.length - 1; i++) {
+            currencies.add(RateTable.quote(route[i]));
+        }
+        if (base > quote) {
+            Collections.reverse(currencies);
+        }
+        return currencies;
+    }
+
+    /**
+     * Completes a single snapshot.
+     *
+     * @param snapshot Rates as quoted by the service
+     * @return A table holding every pair reachable from the quoted pairs
+     */
+    public static RateTable complete(RateTable snapshot) {
+        CrossRateEngine engine = new CrossRateEngine();
+        engine.update(snapshot);
+        return engine.table();
+    }
+
+    private boolean topologyChanged(RateTable snapshot) {
+        for (int pair = 0; pair < PAIRS; pair++) {
+            if (topology[pair] != snapshot.isQuoted(pair)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuild(RateTable snapshot) {
+        initialised = true;
+        table = new RateTable();
+        Arrays.fill(routes, null);
+
+        boolean[] connected = new boolean[PAIRS];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            topology[pair] = snapshot.isQuoted(pair);
+            quotedBids[pair] = snapshot.bid(pair);
+            quotedAsks[pair] = snapshot.ask(pair);
+            if (topology[pair]) {
+                table.put(RateTable.base(pair), RateTable.quote(pair), quotedBids[pair], quotedAsks[pair]);
+                connected[pair] = true;
+                connected[inverse(pair)] = true;
+            }
+        }
+
+        List<List<Integer>> crossesByLeg = new ArrayList<>(PAIRS);
+        for (int pair = 0; pair < PAIRS; pair++) {
+            crossesByLeg.add(new ArrayList<>());
+        }
+        for (int base = 0; base < CURRENCIES; base++) {
+            int[] previous = shortestPaths(base, connected);
+            for (int quote = base + 1; quote < CURRENCIES; quote++) {
+                int cross = base * CURRENCIES + quote;
+                if (connected[cross] || previous[quote] < 0) {
+                    continue;
+                }
+                routes[cross] = route(base, quote, previous);
+                for (int leg : routes[cross]) {
+                    crossesByLeg.get(topology[leg] ? leg : inverse(leg)).add(cross);
+                }
+                computeCross(cross);
+            }
+        }
+
+        for (int pair = 0; pair < PAIRS; pair++) {
+            dependents[pair] = crossesByLeg.get(pair).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Breadth-first search over the connected pairs, visiting neighbours in declaration order.
+     *
+     * @return The predecessor of every currency on its route from {@code source}, or -1 if unreachable
+     */
+    private static int[] shortestPaths(int source, boolean[] connected) {
+        int[] previous = new int[CURRENCIES];
+        Arrays.fill(previous, -1);
+        previous[source] = source;
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(source);
+        while (!queue.isEmpty()) {
+            int from = queue.poll();
+            for (int to = 0; to < CURRENCIES; to++) {
+                if (previous[to] < 0 && connected[from * CURRENCIES + to]) {
+                    previous[to] = from;
+                    queue.add(to);
+                }
+            }
+        }
+        return previous;
+    }
+
+    private static int[] route(int base, int quote, int[] previous) {
+        int legs = 0;
+        for (int ccy = quote; ccy != base; ccy = previous[ccy]) {
+            legs++;
+        }
+        int[] route = new int[legs];
+        for (int ccy = quote; ccy != base; ccy = previous[ccy]) {
+            route[--legs] = previous[ccy] * CURRENCIES + ccy;
+        }
+        return route;
+    }
+
+    private void computeCross(int cross) {
+        double bid = 1.0;
+        double ask = 1.0;
+        for (int leg : routes[cross]) {
+            bid *= table.bid(leg);
+            ask *= table.ask(leg);
+        }
+        table.putDerived(cross, bid, ask);
+        table.putDerived(inverse(cross), 1.0 / ask, 1.0 / bid);
+    }
+
+    private static int inverse(int pair) {
+        return (pair % CURRENCIES) * CURRENCIES + pair / CURRENCIES;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * Represents a pair of currencies used in FX trading.
  */
@@ -12,6 +14,19 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class CurrencyPair {
+    /** Pairs the order service accepts orders for, as listed by /supportedCurrencyPairs */
+    public static final List<CurrencyPair> SUPPORTED = List.of(
+            new CurrencyPair(Currency.EUR, Currency.USD),
+            new CurrencyPair(Currency.EUR, Currency.GBP),
+            new CurrencyPair(Currency.EUR, Currency.SEK),
+            new CurrencyPair(Currency.EUR, Currency.NOK),
+            new CurrencyPair(Currency.USD, Currency.SEK),
+            new CurrencyPair(Currency.USD, Currency.NOK),
+            new CurrencyPair(Currency.USD, Currency.JPY),
+            new CurrencyPair(Currency.USD, Currency.ZAR),
+            new CurrencyPair(Currency.EUR, Currency.CHF),
+            new CurrencyPair(Currency.USD, Currency.CHF));
+
     /** The base currency of the pair */
     @JsonProperty("ccy1")
     private Currency ccy1;
@@ -0,0 +1,171 @@
+package com.pm.models;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Per-pair index of order limits for detecting orders whose limit the market has crossed.
+ * <p>
+ * For every pair the buy and sell orders of an {@link OrderStore} are kept in two primitive arrays sorted by
+ * limit. A buy order triggers once the ask is at or below its limit, a sell order once the bid is at or above
+ * its limit, so the triggered orders of a side are always a suffix (buys) or prefix (sells) of its array.
+ * A rate update therefore costs one binary search per side, and only the orders between the previous and the
+ * new boundary are reported: O(log n + k) for k newly triggered orders, however large the book is.
+ * <p>
+ * An order that drops back out of the triggered range is reported again if the market crosses its limit
+ * once more. The index is not thread-safe.
+ */
+public final class LimitTriggerIndex {
+    private static final int PAIRS = RateTable.CURRENCIES * RateTable.CURRENCIES;
+
+    private final Side[] buys = new Side[PAIRS];
+    private final Side[] sells = new Side[PAIRS];
+    private final int size;
+
+    /**
+     * Indexes every row of the store.
+     *
+     * @param store The orders to watch
+     */
+    public LimitTriggerIndex(OrderStore store) {
+        int[] buyCounts = new int[PAIRS];
+        int[] sellCounts = new int[PAIRS];
+        for (int row = 0; row < store.size(); row++) {
+            (store.isBuy(row) ? buyCounts : sellCounts)[store.pairId(row)]++;
+        }
+
+        int[][] buyRows = new int[PAIRS][];
+        int[][] sellRows = new int[PAIRS][];
+        for (int pair = 0; pair < PAIRS; pair++) {
+            buyRows[pair] = new int[buyCounts[pair]];
+            sellRows[pair] = new int[sellCounts[pair]];
+            buyCounts[pair] = 0;
+            sellCounts[pair] = 0;
+        }
+        for (int row = 0; row < store.size(); row++) {
+            int pair = store.pairId(row);
+            if (store.isBuy(row)) {
+                buyRows[pair][buyCounts[pair]++] = row;
+            } else {
+                sellRows[pair][sellCounts[pair]++] = row;
+            }
+        }
+
+        for (int pair = 0; pair < PAIRS; pair++) {
+            buys[pair] = Side.of(store, buyRows[pair], buyRows[pair].length);
+            sells[pair] = Side.of(store, sellRows[pair], 0);
+        }
+        this.size = store.size();
+    }
+
+    /**
+     * @return Number of indexed orders
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Applies a new rate for a pair and reports the orders that became triggered since the previous update
+     * of that pair. Buys are reported from the highest limit down, sells from the lowest limit up, i.e. the
+     * orders furthest through the market first. An unknown ({@code NaN}) rate untriggers every order.
+     *
+     * @param pair A pair index from {@link RateTable#index(Currency, Currency)}
+     * @param bid The current bid
+     * @param ask The current ask
+     * @param triggered Receives the store row of every newly triggered order
+     * @return Number of newly triggered orders
+     */
+    public int update(int pair, double bid, double ask, IntConsumer triggered) {
+        Side buy = buys[pair];
+        Side sell = sells[pair];
+
+        // limits >= ask form the suffix starting at the first limit not below the ask
+        int buyStart = Double.isNaN(ask) ? buy.limits.length : lowerBound(buy.limits, ask);
+        int newBuys = buy.triggerFrom(buyStart, triggered);
+
+        // limits <= bid form the prefix ending before the first limit above the bid
+        int sellEnd = Double.isNaN(bid) ? 0 : upperBound(sell.limits, bid);
+        int newSells = sell.triggerTo(sellEnd, triggered);
+
+        return newBuys + newSells;
+    }
+
+    /**
+     * @param pair A pair index from {@link RateTable#index(Currency, Currency)}
+     * @return Number of currently triggered orders of the pair
+     */
+    public int triggeredCount(int pair) {
+        return buys[pair].limits.length - buys[pair].boundary + sells[pair].boundary;
+    }
+
+    private static int lowerBound(double[] limits, double value) {
+        int low = 0;
+        int high = limits.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (limits[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(double[] limits, double value) {
+        int low = 0;
+        int high = limits.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (limits[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The orders of one side of one pair, sorted by limit, and the current triggered boundary.
+     */
+    private static final class Side {
+        private final int[] rows;
+        private final double[] limits;
+        /** Buys: index of the first triggered order. Sells: number of triggered orders. */
+        private int boundary;
+
+        private Side(int[] rows, double[] limits, int boundary) {
+            this.rows = rows;
+            this.limits = limits;
+            this.boundary = boundary;
+        }
+
+        static Side of(OrderStore store, int[] rows, int boundary) {
+            OrderStore.sort(rows, (row1, row2) -> Double.compare(store.limit(row1), store.limit(row2)));
+            double[] limits = new double[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                limits[i] = store.limit(rows[i]);
+            }
+            return new Side(rows, limits, boundary);
+        }
+
+        int triggerFrom(int start, IntConsumer triggered) {
+            int previous = boundary;
+            boundary = start;
+            for (int i = previous - 1; i >= start; i--) {
+                triggered.accept(rows[i]);
+            }
+            return Math.max(0, previous - start);
+        }
+
+        int triggerTo(int end, IntConsumer triggered) {
+            int previous = boundary;
+            boundary = end;
+            for (int i = previous; i < end; i++) {
+                triggered.accept(rows[i]);
+            }
+            return Math.max(0, end - previous);
+        }
+    }
+}
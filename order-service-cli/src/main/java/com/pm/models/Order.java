@@ -12,7 +12,6 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
-    private static int nextId = 1;
     private String id;
     @JsonProperty("investmentCcy")
     private String investmentCcy;
@@ -30,8 +29,9 @@ public class Order {
     @JsonFormat(pattern = "dd.MM.yyyy")
     private LocalDate validUntil;
 
+    /** Creates an order with a new client-side ID from {@link OrderIdGenerator#global()} */
     public Order(OrderType type, Currency investmentCcyEnum, Currency counterCcyEnum, double limit, LocalDate validity) {
-        this.id = String.valueOf(nextId++);
+        this.id = String.valueOf(OrderIdGenerator.global().nextId());
         this.investmentCcy = investmentCcyEnum.name();
         this.buy = (type == OrderType.BUY);
         this.counterCcy = counterCcyEnum.name();
@@ -0,0 +1,80 @@
+package com.pm.models;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free generator of client-side order IDs that stay unique across threads, restarts and concurrent CLI
+ * processes.
+ * <p>
+ * Each ID packs three fields into a positive long: 41 bits of milliseconds since {@link #EPOCH}, a 10-bit node
+ * number and a 12-bit sequence within the millisecond. The time and sequence are kept together in one
+ * {@link AtomicLong} and advanced with a single compare-and-set to the larger of the current time and the last
+ * value plus one, so no thread ever blocks. When more than 4096 IDs are taken within one millisecond the
+ * sequence carries into the time field, running slightly ahead of the clock rather than waiting for it.
+ * <p>
+ * The default node is the low bits of the process ID, so CLI instances running side by side on one host do
+ * not collide; IDs from the same node stay unique as long as the clock does not go back by more than the
+ * time since the previous launch.
+ */
+public final class OrderIdGenerator {
+    /** Start of the time field */
+    public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final OrderIdGenerator GLOBAL = new OrderIdGenerator(
+            ProcessHandle.current().pid() & NODE_MASK, System::currentTimeMillis);
+
+    private final long node;
+    private final LongSupplier clockMillis;
+    /** Milliseconds since the epoch and the sequence, packed as {@code millis << SEQUENCE_BITS | sequence} */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * @param node The node number, 0 to 1023
+     * @param clockMillis Wall-clock time source in epoch milliseconds
+     */
+    public OrderIdGenerator(long node, LongSupplier clockMillis) {
+        if (node < 0 || node > NODE_MASK) {
+            throw new IllegalArgumentException("node must be between 0 and " + NODE_MASK);
+        }
+        this.node = node;
+        this.clockMillis = clockMillis;
+    }
+
+    /**
+     * @return The process-wide generator used for new orders
+     */
+    public static OrderIdGenerator global() {
+        return GLOBAL;
+    }
+
+    /**
+     * @return A new ID, greater than every ID this generator returned before
+     */
+    public long nextId() {
+        long now = (clockMillis.getAsLong() - EPOCH.toEpochMilli()) << SEQUENCE_BITS;
+        long next = state.accumulateAndGet(now, (last, time) -> Math.max(time, last + 1));
+        return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | node << SEQUENCE_BITS | (next & SEQUENCE_MASK);
+    }
+
+    /**
+     * @param id An ID from {@link #nextId()}
+     * @return The node that generated it
+     */
+    public static long node(long id) {
+        return id >>> SEQUENCE_BITS & NODE_MASK;
+    }
+
+    /**
+     * @param id An ID from {@link #nextId()}
+     * @return When it was generated, to the millisecond, or slightly later if the sequence carried over
+     */
+    public static Instant timestamp(long id) {
+        return EPOCH.plusMillis(id >>> (NODE_BITS + SEQUENCE_BITS));
+    }
+}
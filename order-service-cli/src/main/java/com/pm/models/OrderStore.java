@@ -0,0 +1,218 @@
+package com.pm.models;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Columnar (struct-of-arrays) order container for analytics over large books.
+ * <p>
+ * Row {@code i} is spread over parallel primitive arrays: the pair index from {@link RateTable#index},
+ * the side, the limit, the expiry as an epoch day, and the ID. Compared with one {@link Order} object per row
+ * this drops the two currency strings, the {@link LocalDate} and the object headers, and lets scans run over
+ * contiguous memory. The store is not thread-safe.
+ */
+public final class OrderStore implements Consumer<Order> {
+    /** Epoch day stored for orders without a validity date */
+    public static final int NO_EXPIRY = Integer.MIN_VALUE;
+
+    private int size;
+    private String[] ids;
+    private int[] pairIds;
+    private boolean[] buys;
+    private double[] limits;
+    private int[] validUntilEpochDays;
+
+    public OrderStore() {
+        this(1024);
+    }
+
+    /**
+     * @param initialCapacity Number of rows to allocate up front
+     */
+    public OrderStore(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 16);
+        ids = new String[capacity];
+        pairIds = new int[capacity];
+        buys = new boolean[capacity];
+        limits = new double[capacity];
+        validUntilEpochDays = new int[capacity];
+    }
+
+    /**
+     * Appends a row from already-decoded column values.
+     *
+     * @param id The order ID
+     * @param buy {@code true} for buy orders
+     * @param pairId The pair index from {@link RateTable#index(Currency, Currency)}
+     * @param limit The limit price
+     * @param validUntilEpochDay The expiry as {@link LocalDate#toEpochDay()}, or {@link #NO_EXPIRY}
+     */
+    public void add(String id, boolean buy, int pairId, double limit, int validUntilEpochDay) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        pairIds[size] = pairId;
+        buys[size] = buy;
+        limits[size] = limit;
+        validUntilEpochDays[size] = validUntilEpochDay;
+        size++;
+    }
+
+    /**
+     * Appends a row copied from an order object.
+     *
+     * @param order The order to add
+     */
+    @Override
+    public void accept(Order order) {
+        add(order.getId(),
+                order.isBuy(),
+                RateTable.index(Currency.valueOf(order.getInvestmentCcy()), Currency.valueOf(order.getCounterCcy())),
+                order.getLimit(),
+                order.getValidUntil() != null ? (int) order.getValidUntil().toEpochDay() : NO_EXPIRY);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public String id(int row) {
+        return ids[row];
+    }
+
+    public int pairId(int row) {
+        return pairIds[row];
+    }
+
+    public boolean isBuy(int row) {
+        return buys[row];
+    }
+
+    public double limit(int row) {
+        return limits[row];
+    }
+
+    public int validUntilEpochDay(int row) {
+        return validUntilEpochDays[row];
+    }
+
+    public Currency investmentCcy(int row) {
+        return RateTable.base(pairIds[row]);
+    }
+
+    public Currency counterCcy(int row) {
+        return RateTable.quote(pairIds[row]);
+    }
+
+    /**
+     * @param row The row to read
+     * @return The expiry date, or {@code null} if the order has none
+     */
+    public LocalDate validUntil(int row) {
+        int epochDay = validUntilEpochDays[row];
+        return epochDay == NO_EXPIRY ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Materialises one row as an {@link Order}.
+     *
+     * @param row The row to read
+     * @return A new order object with the row's values
+     */
+    public Order toOrder(int row) {
+        return new Order(ids[row], investmentCcy(row).name(), buys[row], counterCcy(row).name(),
+                limits[row], validUntil(row));
+    }
+
+    /**
+     * Returns the rows matching a predicate, in store order.
+     *
+     * @param predicate Test applied to each row index
+     * @return The matching row indices
+     */
+    public int[] select(IntPredicate predicate) {
+        int[] rows = new int[size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (predicate.test(row)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Returns all row indices sorted by a row comparator, without boxing.
+     * The sort is stable.
+     *
+     * @param comparator Compares two row indices
+     * @return Every row index, in sorted order
+     */
+    public int[] sortedRows(RowComparator comparator) {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = row;
+        }
+        sort(rows, comparator);
+        return rows;
+    }
+
+    /**
+     * Stable merge sort of row indices.
+     *
+     * @param rows The row indices to sort in place
+     * @param comparator Compares two row indices
+     */
+    public static void sort(int[] rows, RowComparator comparator) {
+        int[] buffer = new int[rows.length];
+        int[] source = rows;
+        int[] target = buffer;
+
+        for (int width = 1; width < rows.length; width *= 2) {
+            for (int low = 0; low < rows.length; low += 2 * width) {
+                int middle = Math.min(low + width, rows.length);
+                int high = Math.min(low + 2 * width, rows.length);
+                int left = low;
+                int right = middle;
+                for (int out = low; out < high; out++) {
+                    if (left < middle && (right >= high || comparator.compare(source[left], source[right]) <= 0)) {
+                        target[out] = source[left++];
+                    } else {
+                        target[out] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != rows) {
+            System.arraycopy(source, 0, rows, 0, rows.length);
+        }
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        pairIds = Arrays.copyOf(pairIds, capacity);
+        buys = Arrays.copyOf(buys, capacity);
+        limits = Arrays.copyOf(limits, capacity);
+        validUntilEpochDays = Arrays.copyOf(validUntilEpochDays, capacity);
+    }
+
+    /**
+     * Comparator over row indices of an {@link OrderStore}.
+     */
+    @FunctionalInterface
+    public interface RowComparator {
+        int compare(int row1, int row2);
+    }
+}
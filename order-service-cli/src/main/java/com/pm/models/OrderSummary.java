@@ -0,0 +1,186 @@
+package com.pm.models;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Per-group limit statistics for an {@link OrderStore}, where a group is one (side, investment ccy, counter ccy).
+ * <p>
+ * Each group has primitive accumulators for count, sum, min, max, running mean and the sum of squared
+ * deviations (Welford), all filled in a single pass over the store. Books above {@link #PARALLEL_THRESHOLD}
+ * rows are split into ranges, aggregated on the fork-join pool and merged with Chan's pairwise update,
+ * which keeps the variance numerically stable.
+ */
+public final class OrderSummary {
+    /** Number of pair indices, see {@link RateTable#index(Currency, Currency)} */
+    public static final int PAIRS = RateTable.CURRENCIES * RateTable.CURRENCIES;
+    /** Number of groups: every pair once for buy orders and once for sell orders */
+    public static final int GROUPS = 2 * PAIRS;
+    /** Row count from which aggregation runs in parallel */
+    public static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final long[] counts = new long[GROUPS];
+    private final double[] sums = new double[GROUPS];
+    private final double[] mins = new double[GROUPS];
+    private final double[] maxs = new double[GROUPS];
+    private final double[] means = new double[GROUPS];
+    private final double[] squaredDeviations = new double[GROUPS];
+
+    private OrderSummary() {
+        Arrays.fill(mins, Double.POSITIVE_INFINITY);
+        Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Aggregates every row of the store, in parallel for large stores.
+     *
+     * @param store The orders to summarise
+     * @return The per-group statistics
+     */
+    public static OrderSummary of(OrderStore store) {
+        if (store.size() < PARALLEL_THRESHOLD) {
+            return aggregate(store, 0, store.size());
+        }
+        return ForkJoinPool.commonPool().invoke(new AggregationTask(store, 0, store.size()));
+    }
+
+    /**
+     * Aggregates a range of rows on the calling thread.
+     *
+     * @param store The orders to summarise
+     * @param from First row, inclusive
+     * @param to Last row, exclusive
+     * @return The per-group statistics for the range
+     */
+    public static OrderSummary aggregate(OrderStore store, int from, int to) {
+        OrderSummary summary = new OrderSummary();
+        for (int row = from; row < to; row++) {
+            summary.add(group(store.isBuy(row), store.pairId(row)), store.limit(row));
+        }
+        return summary;
+    }
+
+    /**
+     * Creates an empty summary to be filled one order at a time with {@link #add(boolean, int, double)}, for
+     * orders that are streamed rather than held in a store.
+     *
+     * @return A summary with no orders
+     */
+    public static OrderSummary empty() {
+        return new OrderSummary();
+    }
+
+    /**
+     * Adds one order to its group.
+     *
+     * @param buy {@code true} for the buy side
+     * @param pairId The pair index
+     * @param limit The limit price
+     */
+    public void add(boolean buy, int pairId, double limit) {
+        add(group(buy, pairId), limit);
+    }
+
+    /**
+     * @param buy {@code true} for the buy side
+     * @param pairId The pair index
+     * @return The group index
+     */
+    public static int group(boolean buy, int pairId) {
+        return (buy ? 0 : PAIRS) + pairId;
+    }
+
+    public long count(int group) {
+        return counts[group];
+    }
+
+    public double sum(int group) {
+        return sums[group];
+    }
+
+    public double mean(int group) {
+        return counts[group] == 0 ? 0.0 : means[group];
+    }
+
+    public double min(int group) {
+        return counts[group] == 0 ? 0.0 : mins[group];
+    }
+
+    public double max(int group) {
+        return counts[group] == 0 ? 0.0 : maxs[group];
+    }
+
+    /**
+     * @param group The group index
+     * @return The population standard deviation of the group's limits
+     */
+    public double stddev(int group) {
+        return counts[group] == 0 ? 0.0 : Math.sqrt(squaredDeviations[group] / counts[group]);
+    }
+
+    private void add(int group, double limit) {
+        long count = ++counts[group];
+        sums[group] += limit;
+        if (limit < mins[group]) {
+            mins[group] = limit;
+        }
+        if (limit > maxs[group]) {
+            maxs[group] = limit;
+        }
+
+        double delta = limit - means[group];
+        means[group] += delta / count;
+        squaredDeviations[group] += delta * (limit - means[group]);
+    }
+
+    private OrderSummary merge(OrderSummary other) {
+        for (int group = 0; group < GROUPS; group++) {
+            long otherCount = other.counts[group];
+            if (otherCount == 0) {
+                continue;
+            }
+
+            long count = counts[group];
+            long total = count + otherCount;
+            double delta = other.means[group] - means[group];
+
+            means[group] += delta * otherCount / total;
+            squaredDeviations[group] += other.squaredDeviations[group] + delta * delta * count * otherCount / total;
+            counts[group] = total;
+            sums[group] += other.sums[group];
+            mins[group] = Math.min(mins[group], other.mins[group]);
+            maxs[group] = Math.max(maxs[group], other.maxs[group]);
+        }
+        return this;
+    }
+
+    /**
+     * Splits a row range in halves until it is small enough to aggregate sequentially.
+     */
+    @SuppressWarnings("serial") // never serialized; only run on the common pool
+    private static final class AggregationTask extends RecursiveTask<OrderSummary> {
+        private final OrderStore store;
+        private final int from;
+        private final int to;
+
+        private AggregationTask(OrderStore store, int from, int to) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected OrderSummary compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                return aggregate(store, from, to);
+            }
+
+            int middle = (from + to) >>> 1;
+            AggregationTask left = new AggregationTask(store, from, middle);
+            left.fork();
+            OrderSummary right = new AggregationTask(store, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
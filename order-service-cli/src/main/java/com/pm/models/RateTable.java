@@ -0,0 +1,167 @@
+package com.pm.models;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Dense bid/ask table for every ordered currency pair.
+ * <p>
+ * Rates live in primitive arrays indexed by {@code ccy1.ordinal() * CURRENCIES + ccy2.ordinal()}, so a lookup
+ * is an array read with no string building or boxing. Each quoted pair also fills its inverse
+ * (bid = 1 / ask, ask = 1 / bid) unless the inverse is quoted itself. Unknown pairs hold {@code NaN}.
+ */
+public final class RateTable {
+    /** Number of currencies, i.e. the row length of the table */
+    public static final int CURRENCIES = Currency.values().length;
+
+    private static final Currency[] CURRENCY_VALUES = Currency.values();
+    private static final int[] PAIRS_BY_NAME = sortPairsByName();
+
+    private final double[] bids = new double[CURRENCIES * CURRENCIES];
+    private final double[] asks = new double[CURRENCIES * CURRENCIES];
+    private final boolean[] quoted = new boolean[CURRENCIES * CURRENCIES];
+
+    public RateTable() {
+        Arrays.fill(bids, Double.NaN);
+        Arrays.fill(asks, Double.NaN);
+    }
+
+    /**
+     * Builds a table from a rate snapshot.
+     *
+     * @param rates The rates returned by the service
+     * @return A table holding every quoted pair and its inverse
+     */
+    public static RateTable of(List<FXRate> rates) {
+        RateTable table = new RateTable();
+        for (FXRate rate : rates) {
+            table.put(rate.getCcyPair().getCcy1(), rate.getCcyPair().getCcy2(), rate.getBid(), rate.getAsk());
+        }
+        return table;
+    }
+
+    /**
+     * Returns the table index of an ordered currency pair.
+     *
+     * @param ccy1 The base currency
+     * @param ccy2 The quote currency
+     * @return The index into the table
+     */
+    public static int index(Currency ccy1, Currency ccy2) {
+        return ccy1.ordinal() * CURRENCIES + ccy2.ordinal();
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return The base currency of the pair
+     */
+    public static Currency base(int index) {
+        return CURRENCY_VALUES[index / CURRENCIES];
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return The quote currency of the pair
+     */
+    public static Currency quote(int index) {
+        return CURRENCY_VALUES[index % CURRENCIES];
+    }
+
+    /**
+     * Returns every pair index ordered by base currency code, then quote currency code,
+     * which is the order the CLI lists pairs in.
+     *
+     * @return A fresh copy of the ordering
+     */
+    public static int[] pairsInNameOrder() {
+        return PAIRS_BY_NAME.clone();
+    }
+
+    /**
+     * Records a quoted rate and derives its inverse.
+     *
+     * @param ccy1 The base currency
+     * @param ccy2 The quote currency
+     * @param bid The bid price
+     * @param ask The ask price
+     */
+    public void put(Currency ccy1, Currency ccy2, double bid, double ask) {
+        int direct = index(ccy1, ccy2);
+        bids[direct] = bid;
+        asks[direct] = ask;
+        quoted[direct] = true;
+
+        int inverse = index(ccy2, ccy1);
+        if (!quoted[inverse]) {
+            bids[inverse] = 1.0 / ask;
+            asks[inverse] = 1.0 / bid;
+        }
+    }
+
+    /**
+     * Records a rate derived from other pairs, leaving the pair unquoted and its inverse untouched.
+     *
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @param bid The bid price
+     * @param ask The ask price
+     */
+    void putDerived(int index, double bid, double ask) {
+        bids[index] = bid;
+        asks[index] = ask;
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return {@code true} if the pair has a rate, quoted or derived
+     */
+    public boolean has(int index) {
+        return !Double.isNaN(asks[index]);
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return {@code true} if the pair itself was quoted, rather than derived from its inverse
+     */
+    public boolean isQuoted(int index) {
+        return quoted[index];
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return The bid price, or {@code NaN} if unknown
+     */
+    public double bid(int index) {
+        return bids[index];
+    }
+
+    /**
+     * @param index A pair index from {@link #index(Currency, Currency)}
+     * @return The ask price, or {@code NaN} if unknown
+     */
+    public double ask(int index) {
+        return asks[index];
+    }
+
+    public double bid(Currency ccy1, Currency ccy2) {
+        return bids[index(ccy1, ccy2)];
+    }
+
+    public double ask(Currency ccy1, Currency ccy2) {
+        return asks[index(ccy1, ccy2)];
+    }
+
+    private static int[] sortPairsByName() {
+        Currency[] byName = Currency.values();
+        Arrays.sort(byName, Comparator.comparing(Currency::name));
+
+        int[] pairs = new int[CURRENCIES * CURRENCIES];
+        int next = 0;
+        for (Currency ccy1 : byName) {
+            for (Currency ccy2 : byName) {
+                pairs[next++] = index(ccy1, ccy2);
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,151 @@
+package com.pm.models;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of string keys scheduled on whole days, e.g. epoch days.
+ * <p>
+ * Three levels of 64 slots cover 64 days, 64 * 64 days and 64 * 64 * 64 days ahead of the current day; keys
+ * further out wait in an overflow bucket. Scheduling is O(1). Advancing by a day fires one level-0 slot and,
+ * every 64 days, cascades one slot of the level above down, so each key is moved at most once per level
+ * however many keys are scheduled. Buckets store keys and days in primitive-backed arrays.
+ * <p>
+ * Keys cannot be unscheduled; callers that need that check whether a fired key is still wanted.
+ * The wheel is not thread-safe.
+ */
+public final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int LEVELS = 3;
+
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    private final Bucket overflow = new Bucket();
+    private final Bucket ready = new Bucket();
+    private int now;
+    private int size;
+
+    /**
+     * @param now The current day
+     */
+    public TimingWheel(int now) {
+        this.now = now;
+        for (Bucket[] level : levels) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                level[slot] = new Bucket();
+            }
+        }
+    }
+
+    /**
+     * @return The day the wheel has been advanced to
+     */
+    public int now() {
+        return now;
+    }
+
+    /**
+     * @return Number of keys that have not fired yet
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a key to fire on a day. Keys for the current day or earlier fire on the next advance.
+     *
+     * @param key The key
+     * @param day The day to fire on
+     */
+    public void schedule(String key, int day) {
+        insert(key, day);
+        size++;
+    }
+
+    /**
+     * Advances the wheel day by day up to the given day, firing every key due by then.
+     * Keys fire in day order; keys of the same day fire in no particular order.
+     *
+     * @param day The day to advance to; earlier days only fire keys that were already due
+     * @param fired Receives every fired key
+     * @return Number of fired keys
+     */
+    public int advanceTo(int day, Consumer<String> fired) {
+        int count = ready.drainTo(fired);
+        while (now < day) {
+            now++;
+            if ((now & (SLOTS - 1)) == 0) {
+                int level1Slot = (now >> SLOT_BITS) & (SLOTS - 1);
+                if (level1Slot == 0) {
+                    int level2Slot = (now >> (2 * SLOT_BITS)) & (SLOTS - 1);
+                    if (level2Slot == 0) {
+                        cascade(overflow);
+                    }
+                    cascade(levels[2][level2Slot]);
+                }
+                cascade(levels[1][level1Slot]);
+            }
+            count += levels[0][now & (SLOTS - 1)].drainTo(fired);
+            count += ready.drainTo(fired);
+        }
+        size -= count;
+        return count;
+    }
+
+    private void cascade(Bucket bucket) {
+        String[] keys = Arrays.copyOf(bucket.keys, bucket.size);
+        int[] days = Arrays.copyOf(bucket.days, bucket.size);
+        bucket.clear();
+        for (int i = 0; i < keys.length; i++) {
+            insert(keys[i], days[i]);
+        }
+    }
+
+    private void insert(String key, int day) {
+        if (day <= now) {
+            ready.add(key, day);
+        } else if (day - now < SLOTS) {
+            levels[0][day & (SLOTS - 1)].add(key, day);
+        } else if ((day >> SLOT_BITS) - (now >> SLOT_BITS) < SLOTS) {
+            levels[1][(day >> SLOT_BITS) & (SLOTS - 1)].add(key, day);
+        } else if ((day >> (2 * SLOT_BITS)) - (now >> (2 * SLOT_BITS)) < SLOTS) {
+            levels[2][(day >> (2 * SLOT_BITS)) & (SLOTS - 1)].add(key, day);
+        } else {
+            overflow.add(key, day);
+        }
+    }
+
+    /**
+     * Growable list of keys and their days.
+     */
+    private static final class Bucket {
+        private String[] keys = new String[0];
+        private int[] days = new int[0];
+        private int size;
+
+        void add(String key, int day) {
+            if (size == keys.length) {
+                int capacity = Math.max(4, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                days = Arrays.copyOf(days, capacity);
+            }
+            keys[size] = key;
+            days[size] = day;
+            size++;
+        }
+
+        int drainTo(Consumer<String> consumer) {
+            int count = size;
+            for (int i = 0; i < count; i++) {
+                consumer.accept(keys[i]);
+            }
+            clear();
+            return count;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0, size, null);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.pm.output;
+
+import com.pm.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes rows as CSV or JSON lines to a byte channel, for piping into other tools.
+ * <p>
+ * Rows are built in a reusable character buffer which is encoded into a direct byte buffer and written to the
+ * channel whenever it grows past {@link TableWriter#FLUSH_THRESHOLD} characters, so memory stays constant
+ * however many rows are written. Field names are the lower-cased column headers; CSV output starts with them
+ * as a header line. Decimals are written in full and in plain notation, ignoring the display precision, dates
+ * as ISO-8601, and missing values as empty CSV fields or JSON {@code null}.
+ * <p>
+ * On close, the rows written and the time since construction are attributed to the running command in
+ * {@link MetricsRegistry#global()}.
+ */
+public final class RecordWriter implements RowWriter {
+    /**
+     * Supported record formats.
+     */
+    public enum Format {
+        /** Comma-separated values with a header line, quoted as in RFC 4180 */
+        CSV,
+        /** One JSON object per line */
+        JSONL
+    }
+
+    private final WritableByteChannel channel;
+    /** Stream behind the channel, flushed after each write; {@code null} when the writer owns the channel */
+    private final OutputStream stream;
+    private final Format format;
+    private final String[] names;
+    private final StringBuilder buffer = new StringBuilder(TableWriter.FLUSH_THRESHOLD + 1024);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(TableWriter.FLUSH_THRESHOLD);
+    private final long startNanos = System.nanoTime();
+
+    private int rowsWritten;
+    private int column;
+
+    private RecordWriter(WritableByteChannel channel, OutputStream stream, Format format,
+                         List<TableWriter.Column> columns) {
+        this.channel = channel;
+        this.stream = stream;
+        this.format = format;
+        this.names = columns.stream().map(c -> c.header().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+        if (format == Format.CSV) {
+            buffer.append(String.join(",", names)).append('\n');
+        }
+    }
+
+    /**
+     * Creates a writer that replaces the contents of a file and closes it when done.
+     *
+     * @param file The file to write
+     * @param format The record format
+     * @param columns The fields of each row, in order
+     * @return The writer
+     * @throws IOException If the file could not be opened
+     */
+    public static RecordWriter toFile(Path file, Format format, List<TableWriter.Column> columns) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new RecordWriter(channel, null, format, columns);
+    }
+
+    /**
+     * Creates a writer on a stream, such as standard output, which is flushed but not closed.
+     *
+     * @param out The stream to write to
+     * @param format The record format
+     * @param columns The fields of each row, in order
+     * @return The writer
+     */
+    public static RecordWriter toStream(OutputStream out, Format format, List<TableWriter.Column> columns) {
+        return new RecordWriter(Channels.newChannel(out), out, format, columns);
+    }
+
+    @Override
+    public RecordWriter text(CharSequence value) {
+        startCell();
+        if (value == null) {
+            appendMissing();
+        } else if (format == Format.JSONL) {
+            appendJsonString(value);
+        } else {
+            appendCsvField(value);
+        }
+        return this;
+    }
+
+    @Override
+    public RecordWriter integer(long value) {
+        startCell();
+        buffer.append(value);
+        return this;
+    }
+
+    @Override
+    public RecordWriter decimal(double value, int precision) {
+        startCell();
+        if (Double.isFinite(value)) {
+            buffer.append(BigDecimal.valueOf(value).toPlainString());
+        } else {
+            appendMissing();
+        }
+        return this;
+    }
+
+    @Override
+    public RecordWriter date(LocalDate date) {
+        startCell();
+        if (date == null) {
+            appendMissing();
+        } else if (format == Format.JSONL) {
+            buffer.append('"').append(date).append('"');
+        } else {
+            buffer.append(date);
+        }
+        return this;
+    }
+
+    @Override
+    public RecordWriter endRow() {
+        if (format == Format.JSONL) {
+            buffer.append('}');
+        }
+        buffer.append('\n');
+        column = 0;
+        rowsWritten++;
+        if (buffer.length() >= TableWriter.FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+        return this;
+    }
+
+    @Override
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Writes out everything still buffered, and closes the file if this writer opened it.
+     *
+     * @throws UncheckedIOException If the output could not be written
+     */
+    @Override
+    public void close() {
+        try {
+            flushBuffer();
+            if (stream == null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MetricsRegistry.global().recordRender(rowsWritten, System.nanoTime() - startNanos);
+    }
+
+    private void startCell() {
+        if (format == Format.JSONL) {
+            buffer.append(column == 0 ? '{' : ',').append('"').append(names[column]).append("\":");
+        } else if (column > 0) {
+            buffer.append(',');
+        }
+        column++;
+    }
+
+    private void appendMissing() {
+        if (format == Format.JSONL) {
+            buffer.append("null");
+        }
+    }
+
+    private void appendCsvField(CharSequence value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            buffer.append(value);
+            return;
+        }
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            buffer.append(c);
+            if (c == '"') {
+                buffer.append('"');
+            }
+        }
+        buffer.append('"');
+    }
+
+    private void appendJsonString(CharSequence value) {
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> buffer.append("\\\"");
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        buffer.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buffer.append(c);
+                    }
+                }
+            }
+        }
+        buffer.append('"');
+    }
+
+    /**
+     * Encodes the character buffer into the byte buffer, writing to the channel each time it fills up.
+     */
+    private void flushBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        try {
+            CharBuffer chars = CharBuffer.wrap(buffer);
+            encoder.reset();
+            CoderResult result;
+            do {
+                result = encoder.encode(chars, bytes, true);
+                writeBytes();
+            } while (result.isOverflow());
+            encoder.flush(bytes);
+            writeBytes();
+            if (stream != null) {
+                stream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.setLength(0);
+    }
+
+    private void writeBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
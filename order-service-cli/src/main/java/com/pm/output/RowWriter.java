@@ -0,0 +1,60 @@
+package com.pm.output;
+
+import java.time.LocalDate;
+
+/**
+ * Row-at-a-time output shared by the console {@link TableWriter} and the machine-readable {@link RecordWriter},
+ * so a command fills rows the same way whatever the output format.
+ */
+public interface RowWriter extends AutoCloseable {
+    /**
+     * Appends a text cell.
+     *
+     * @param value The cell text; {@code null} for an empty cell
+     * @return This writer
+     */
+    RowWriter text(CharSequence value);
+
+    /**
+     * Appends an integer cell.
+     *
+     * @param value The cell value
+     * @return This writer
+     */
+    RowWriter integer(long value);
+
+    /**
+     * Appends a decimal cell.
+     *
+     * @param value The cell value
+     * @param precision Number of decimals shown in human-readable output, 0 to 8
+     * @return This writer
+     */
+    RowWriter decimal(double value, int precision);
+
+    /**
+     * Appends a date cell.
+     *
+     * @param date The cell value; {@code null} when absent
+     * @return This writer
+     */
+    RowWriter date(LocalDate date);
+
+    /**
+     * Finishes the current row.
+     *
+     * @return This writer
+     */
+    RowWriter endRow();
+
+    /**
+     * @return Number of rows written, excluding any header
+     */
+    int getRowsWritten();
+
+    /**
+     * Writes out everything still buffered.
+     */
+    @Override
+    void close();
+}
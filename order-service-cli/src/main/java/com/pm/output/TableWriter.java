@@ -0,0 +1,336 @@
+package com.pm.output;
+
+import com.pm.metrics.MetricsRegistry;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Renders fixed-width console tables into a reusable buffer.
+ * <p>
+ * Cells are padded by hand and numbers are formatted with a fixed-precision routine instead of
+ * {@link java.util.Formatter}, so a row costs no format-string parsing and, for typical values, no allocation.
+ * The buffer is handed to the stream only when it grows past {@link #FLUSH_THRESHOLD} characters and on
+ * {@link #close()}, which keeps synchronisation and flushing on {@link PrintStream} to a few calls per table.
+ * <p>
+ * Optionally only one page of rows is rendered; callers check {@link #beginRow()} before building a row.
+ * <p>
+ * On close, the rows written and the time since construction are attributed to the running command in
+ * {@link MetricsRegistry#global()}.
+ */
+public class TableWriter implements RowWriter {
+    /** Buffered characters after which the buffer is written out */
+    public static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+    private static final double TIE_TOLERANCE = 1e-6;
+    private static final String SPACES = " ".repeat(64);
+
+    private final PrintStream out;
+    private final List<Column> columns;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private final long startNanos = System.nanoTime();
+
+    private int firstRow;
+    private int maxRows = Integer.MAX_VALUE;
+    private int rowsSeen;
+    private int rowsWritten;
+    private int column;
+
+    /**
+     * @param out The stream to render to
+     * @param columns The table layout, left to right
+     */
+    public TableWriter(PrintStream out, List<Column> columns) {
+        this.out = out;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates a left-aligned column.
+     *
+     * @param header The header text
+     * @param width The minimum column width
+     * @return The column definition
+     */
+    public static Column left(String header, int width) {
+        return new Column(header, width, false);
+    }
+
+    /**
+     * Creates a right-aligned column.
+     *
+     * @param header The header text
+     * @param width The minimum column width
+     * @return The column definition
+     */
+    public static Column right(String header, int width) {
+        return new Column(header, width, true);
+    }
+
+    /**
+     * Restricts output to one page of rows. Pages starting beyond the last representable row are empty.
+     *
+     * @param page 1-based page number
+     * @param pageSize Rows per page
+     * @return This writer
+     */
+    public TableWriter page(int page, int pageSize) {
+        this.firstRow = (int) Math.min((page - 1L) * pageSize, Integer.MAX_VALUE);
+        this.maxRows = pageSize;
+        return this;
+    }
+
+    /**
+     * Writes the header row followed by a separator line.
+     *
+     * @param separator The character the separator line is drawn with
+     * @return This writer
+     */
+    public TableWriter header(char separator) {
+        int lineWidth = 0;
+        for (Column definition : columns) {
+            text(definition.header());
+            lineWidth += definition.width() + 1;
+        }
+        endLine();
+        buffer.append(String.valueOf(separator).repeat(Math.max(lineWidth - 1, 0))).append(System.lineSeparator());
+        return this;
+    }
+
+    /**
+     * Counts a row and tells whether it falls on the requested page.
+     * Rows for which this returns {@code false} must not be written.
+     *
+     * @return {@code true} if the caller should write the row
+     */
+    public boolean beginRow() {
+        int row = rowsSeen++;
+        return row >= firstRow && row - firstRow < maxRows;
+    }
+
+    /**
+     * @return {@code true} once the requested page is complete, so callers can stop producing rows
+     */
+    public boolean isPageFull() {
+        return rowsSeen - firstRow >= maxRows;
+    }
+
+    /**
+     * Appends a text cell.
+     *
+     * @param value The cell text; {@code null} renders as an empty cell
+     * @return This writer
+     */
+    @Override
+    public TableWriter text(CharSequence value) {
+        int start = startCell();
+        buffer.append(value == null ? "" : value);
+        return endCell(start);
+    }
+
+    /**
+     * Appends an integer cell.
+     *
+     * @param value The cell value
+     * @return This writer
+     */
+    @Override
+    public TableWriter integer(long value) {
+        int start = startCell();
+        buffer.append(value);
+        return endCell(start);
+    }
+
+    /**
+     * Appends a number with a fixed number of decimals, rounded half-up.
+     *
+     * @param value The cell value
+     * @param precision Number of decimals, 0 to 8
+     * @return This writer
+     */
+    @Override
+    public TableWriter decimal(double value, int precision) {
+        int start = startCell();
+        appendFixed(buffer, value, precision);
+        return endCell(start);
+    }
+
+    /**
+     * Appends a date in dd.MM.yyyy form, or N/A when absent.
+     *
+     * @param date The cell value
+     * @return This writer
+     */
+    @Override
+    public TableWriter date(LocalDate date) {
+        int start = startCell();
+        if (date == null) {
+            buffer.append("N/A");
+        } else {
+            appendTwoDigits(buffer, date.getDayOfMonth());
+            buffer.append('.');
+            appendTwoDigits(buffer, date.getMonthValue());
+            buffer.append('.').append(date.getYear());
+        }
+        return endCell(start);
+    }
+
+    /**
+     * Finishes the current row.
+     *
+     * @return This writer
+     */
+    @Override
+    public TableWriter endRow() {
+        rowsWritten++;
+        endLine();
+        if (buffer.length() >= FLUSH_THRESHOLD) {
+            flushBuffer();
+        }
+        return this;
+    }
+
+    /**
+     * Appends a free-text line outside the table layout.
+     *
+     * @param line The line to write
+     * @return This writer
+     */
+    public TableWriter line(String line) {
+        buffer.append(line).append(System.lineSeparator());
+        return this;
+    }
+
+    /**
+     * Appends text that is not part of the layout, such as terminal control sequences, without a line break.
+     *
+     * @param text The text to append
+     * @return This writer
+     */
+    public TableWriter raw(CharSequence text) {
+        buffer.append(text);
+        return this;
+    }
+
+    /**
+     * Writes out everything buffered so far, for tables that are redrawn while they stay open.
+     *
+     * @return This writer
+     */
+    public TableWriter flush() {
+        flushBuffer();
+        return this;
+    }
+
+    /**
+     * @return Number of rows offered through {@link #beginRow()}, including those outside the page
+     */
+    public int getRowsSeen() {
+        return rowsSeen;
+    }
+
+    /**
+     * @return Number of rows written, excluding the header
+     */
+    @Override
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Writes out everything still buffered.
+     */
+    @Override
+    public void close() {
+        flushBuffer();
+        MetricsRegistry.global().recordRender(rowsWritten, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Appends {@code value} with exactly {@code precision} decimals, rounding half-up.
+     * Values too large for exact scaled-long arithmetic, and values within rounding error of a tie (where
+     * {@link java.util.Formatter} rounds the shortest decimal representation rather than the binary value),
+     * fall back to {@link String#format} so the output is identical to {@code %.nf}.
+     *
+     * @param target The buffer to append to
+     * @param value The value to format
+     * @param precision Number of decimals, 0 to 8
+     */
+    public static void appendFixed(StringBuilder target, double value, int precision) {
+        long scale = POWERS_OF_TEN[precision];
+        double magnitude = Math.abs(value);
+        double shifted = magnitude * scale;
+        if (!(magnitude < (double) (Long.MAX_VALUE / 10) / scale)
+                || Math.abs(shifted - Math.floor(shifted) - 0.5) < TIE_TOLERANCE) {
+            target.append(String.format("%." + precision + "f", value));
+            return;
+        }
+
+        long scaled = (long) (shifted + 0.5);
+        if (Double.compare(value, 0.0) < 0) {
+            target.append('-');
+        }
+        target.append(scaled / scale);
+        if (precision > 0) {
+            target.append('.');
+            long fraction = scaled % scale;
+            for (long digit = scale / 10; digit > 0; digit /= 10) {
+                target.append((char) ('0' + fraction / digit % 10));
+            }
+        }
+    }
+
+    private int startCell() {
+        if (column > 0) {
+            buffer.append(' ');
+        }
+        return buffer.length();
+    }
+
+    private TableWriter endCell(int start) {
+        Column definition = columns.get(column++);
+        int padding = definition.width() - (buffer.length() - start);
+        while (padding > 0) {
+            int chunk = Math.min(padding, SPACES.length());
+            if (definition.rightAligned()) {
+                buffer.insert(start, SPACES, 0, chunk);
+            } else {
+                buffer.append(SPACES, 0, chunk);
+            }
+            padding -= chunk;
+        }
+        return this;
+    }
+
+    private void endLine() {
+        buffer.append(System.lineSeparator());
+        column = 0;
+    }
+
+    private static void appendTwoDigits(StringBuilder target, int value) {
+        target.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private void flushBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        out.append(buffer);
+        out.flush();
+        buffer.setLength(0);
+    }
+
+    /**
+     * Layout of one table column.
+     *
+     * @param header The header text
+     * @param width The minimum width; longer values widen the cell rather than being cut
+     * @param rightAligned {@code true} to pad on the left
+     */
+    public record Column(String header, int width, boolean rightAligned) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.pm.server;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Latency and failures injected by the {@link StandInServer}.
+ * <p>
+ * Every request gets a base latency plus a uniformly distributed jitter, and fails with probability
+ * {@code errorRate}. The outcome is a pure function of the seed and the request's sequence number, so a run
+ * with the same seed and the same request order reproduces the same delays and failures.
+ *
+ * @param latency Delay added to every request
+ * @param jitter Upper bound of the extra random delay
+ * @param errorRate Probability, from 0 to 1, that a request is answered with 503
+ * @param seed Seed for delays and failures
+ */
+public record FaultProfile(Duration latency, Duration jitter, double errorRate, long seed) {
+    /** No added latency and no failures */
+    public static final FaultProfile NONE = new FaultProfile(Duration.ZERO, Duration.ZERO, 0.0, 0L);
+
+    public FaultProfile {
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Latency and jitter must not be negative");
+        }
+        if (!(errorRate >= 0.0 && errorRate <= 1.0)) {
+            throw new IllegalArgumentException("Error rate must be between 0 and 1");
+        }
+    }
+
+    /**
+     * @param sequence The request's sequence number
+     * @return The delay for that request, in nanoseconds
+     */
+    public long delayNanos(long sequence) {
+        long jitterNanos = jitter.toNanos();
+        return latency.toNanos() + (jitterNanos == 0 ? 0 : random(sequence).nextLong(jitterNanos));
+    }
+
+    /**
+     * @param sequence The request's sequence number
+     * @return {@code true} if that request should fail
+     */
+    public boolean fails(long sequence) {
+        if (errorRate == 0.0) {
+            return false;
+        }
+        SplittableRandom random = random(sequence);
+        random.nextLong();
+        return random.nextDouble() < errorRate;
+    }
+
+    private SplittableRandom random(long sequence) {
+        return new SplittableRandom(seed ^ sequence * 0x9E3779B97F4A7C15L);
+    }
+}
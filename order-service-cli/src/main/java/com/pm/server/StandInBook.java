@@ -0,0 +1,116 @@
+package com.pm.server;
+
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe in-memory state behind the {@link StandInServer}.
+ * <p>
+ * Orders are kept in a concurrent skip list keyed by their numeric ID, so retrieval lists them in creation
+ * order without locking out concurrent creates and cancels. Rates are a fixed snapshot, and only the pairs it
+ * quotes are accepted for new orders, either way round.
+ */
+public class StandInBook {
+    private final ConcurrentNavigableMap<Long, Order> orders = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastId = new AtomicLong();
+    private final List<FXRate> rates;
+    private final Set<CurrencyPair> pairs;
+
+    /**
+     * @param rates The snapshot served by /rateSnapshot, which also defines the supported pairs
+     */
+    public StandInBook(List<FXRate> rates) {
+        this.rates = List.copyOf(rates);
+        this.pairs = Set.copyOf(supportedPairs());
+    }
+
+    /**
+     * Adds pre-generated orders, keeping their IDs. Later creates continue after the highest ID.
+     *
+     * @param initialOrders Orders with numeric IDs
+     * @throws IllegalArgumentException if an ID is not numeric
+     */
+    public void preload(Collection<Order> initialOrders) {
+        for (Order order : initialOrders) {
+            long id = parseId(order.getId());
+            if (id < 0) {
+                throw new IllegalArgumentException("Order ID must be numeric: " + order.getId());
+            }
+            orders.put(id, order);
+            lastId.accumulateAndGet(id, Math::max);
+        }
+    }
+
+    /**
+     * Stores a new order under the next free ID.
+     *
+     * @param request The order to create; its ID is ignored
+     * @return The stored order, including its ID
+     * @throws IllegalArgumentException if the order has no valid currency pair or the pair is not supported
+     */
+    public Order create(Order request) {
+        Currency investmentCcy = Currency.fromString(String.valueOf(request.getInvestmentCcy()));
+        Currency counterCcy = Currency.fromString(String.valueOf(request.getCounterCcy()));
+        if (investmentCcy == counterCcy) {
+            throw new IllegalArgumentException("Investment and counter currency must differ");
+        }
+        if (!pairs.contains(new CurrencyPair(investmentCcy, counterCcy))
+                && !pairs.contains(new CurrencyPair(counterCcy, investmentCcy))) {
+            throw new IllegalArgumentException("Unsupported currency pair: " + investmentCcy + "/" + counterCcy);
+        }
+
+        long id = lastId.incrementAndGet();
+        Order order = new Order(String.valueOf(id), investmentCcy.name(), request.isBuy(), counterCcy.name(),
+                request.getLimit(), request.getValidUntil());
+        orders.put(id, order);
+        return order;
+    }
+
+    /**
+     * @param orderId The ID to cancel
+     * @return {@code true} if the order existed and was removed
+     */
+    public boolean cancel(String orderId) {
+        long id = parseId(orderId);
+        return id >= 0 && orders.remove(id) != null;
+    }
+
+    /**
+     * @return A weakly consistent view of the orders, in ID order
+     */
+    public Collection<Order> orders() {
+        return orders.values();
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    public List<FXRate> rates() {
+        return rates;
+    }
+
+    /**
+     * @return The pairs quoted in the rate snapshot
+     */
+    public List<CurrencyPair> supportedPairs() {
+        return rates.stream().map(FXRate::getCcyPair).toList();
+    }
+
+    private static long parseId(String id) {
+        try {
+            return id == null ? -1 : Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
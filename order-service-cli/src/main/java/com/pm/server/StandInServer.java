@@ -0,0 +1,184 @@
+package com.pm.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.commands.CommandOptions;
+import com.pm.models.CurrencyPair;
+import com.pm.models.Order;
+import com.pm.service.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Local stand-in for the order service described in order-service/openapi.yaml.
+ * <p>
+ * Serves /createOrder, /cancelOrder, /retrieveOrders, /rateSnapshot and /supportedCurrencyPairs from a
+ * {@link StandInBook}, on virtual threads, with the latency and failures of a {@link FaultProfile} applied
+ * before every request. Responses are streamed, so books of millions of orders can be served.
+ * <p>
+ * Run it with {@code java -cp order-service-cli.jar com.pm.server.StandInServer [--port <n>] [--orders <n>]
+ * [--latency-ms <n>] [--jitter-ms <n>] [--error-rate <0..1>] [--seed <n>] [--all-pairs]}. It quotes and accepts
+ * the supported pairs of the real service; {@code --all-pairs} extends that to every pair of known currencies.
+ */
+public class StandInServer implements AutoCloseable {
+    private static final int DEFAULT_PORT = 8888;
+
+    private final HttpServer server;
+    private final StandInBook book;
+    private final FaultProfile faults;
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Binds the server to the loopback interface. It does not accept requests until {@link #start()}.
+     *
+     * @param port The port, or 0 for any free port
+     * @param book The state to serve
+     * @param faults Latency and failures to inject
+     * @throws IOException If the port cannot be bound
+     */
+    public StandInServer(int port, StandInBook book, FaultProfile faults) throws IOException {
+        this.book = book;
+        this.faults = faults;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.setExecutor(VirtualThreads.executor());
+
+        route("/createOrder", "POST", this::createOrder);
+        route("/cancelOrder", "POST", this::cancelOrder);
+        route("/retrieveOrders", "GET", exchange -> sendJson(exchange, book.orders()));
+        route("/rateSnapshot", "GET", exchange -> sendJson(exchange, book.rates()));
+        route("/supportedCurrencyPairs", "GET", exchange -> sendJson(exchange, book.supportedPairs()));
+    }
+
+    public static void main(String[] args) throws IOException {
+        CommandOptions options = new CommandOptions(
+                Stream.concat(Stream.of("stand-in"), Arrays.stream(args)).toArray(String[]::new), Set.of("all-pairs"));
+        long orders = options.getLong("orders", 0);
+        if (orders < 0 || orders > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("--orders must be between 0 and " + Integer.MAX_VALUE);
+        }
+
+        FaultProfile faults = new FaultProfile(
+                Duration.ofMillis(options.getLong("latency-ms", 0)),
+                Duration.ofMillis(options.getLong("jitter-ms", 0)),
+                options.getDouble("error-rate", 0.0),
+                options.getLong("seed", 0));
+
+        List<CurrencyPair> pairs = options.has("all-pairs") ? SyntheticBook.allPairs() : CurrencyPair.SUPPORTED;
+        StandInBook book = new StandInBook(SyntheticBook.rates(pairs));
+        book.preload(SyntheticBook.orders((int) orders, faults.seed(), LocalDate.now(), pairs));
+
+        StandInServer server = new StandInServer(options.getPositiveInt("port", DEFAULT_PORT), book, faults);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        server.start();
+        System.out.printf("Order service stand-in listening on %s with %d orders (latency %s, jitter %s, error rate %.3f)%n",
+                server.getBaseUrl(), book.size(), faults.latency(), faults.jitter(), faults.errorRate());
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return The URL to pass to {@link com.pm.service.HttpService}
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + getPort();
+    }
+
+    public StandInBook getBook() {
+        return book;
+    }
+
+    /**
+     * @return Number of requests received, including failed ones
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void createOrder(HttpExchange exchange) throws IOException {
+        Order request = objectMapper.readValue(exchange.getRequestBody(), Order.class);
+        sendJson(exchange, book.create(request));
+    }
+
+    private void cancelOrder(HttpExchange exchange) throws IOException {
+        String orderId = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (orderId.length() >= 2 && orderId.startsWith("\"") && orderId.endsWith("\"")) {
+            orderId = orderId.substring(1, orderId.length() - 1);
+        }
+        sendText(exchange, 200, String.valueOf(book.cancel(orderId)));
+    }
+
+    private void route(String path, String method, Endpoint endpoint) {
+        server.createContext(path, exchange -> {
+            try {
+                long sequence = requests.getAndIncrement();
+                long delayNanos = faults.delayNanos(sequence);
+                if (delayNanos > 0) {
+                    Thread.sleep(Duration.ofNanos(delayNanos));
+                }
+
+                if (faults.fails(sequence)) {
+                    sendText(exchange, 503, "Injected failure for request " + sequence);
+                } else if (!method.equals(exchange.getRequestMethod())) {
+                    sendText(exchange, 405, "Method not allowed");
+                } else {
+                    endpoint.handle(exchange);
+                }
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                sendText(exchange, 400, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void sendJson(HttpExchange exchange, Object body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        objectMapper.writeValue(exchange.getResponseBody(), body);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Serves one endpoint once latency and failures have been applied.
+     */
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+}
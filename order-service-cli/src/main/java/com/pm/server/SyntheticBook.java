@@ -0,0 +1,103 @@
+package com.pm.server;
+
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic generator for rate snapshots and large order books.
+ * <p>
+ * Rates are derived from a fixed value of each currency in EUR, so every quote is consistent with every
+ * other. Order limits are scattered within five percent of the pair's mid rate, like a book that tracks the
+ * market. The same seed always produces the same book. Unless other pairs are passed explicitly, both are
+ * limited to the {@link CurrencyPair#SUPPORTED supported pairs} of the order service.
+ */
+public final class SyntheticBook {
+    /** Approximate value of one unit of each currency in EUR, indexed by ordinal */
+    private static final double[] EUR_VALUE = {1.0, 0.92, 1.17, 0.087, 0.086, 0.0062, 0.05, 1.04};
+    private static final double HALF_SPREAD = 0.0005;
+
+    private SyntheticBook() {
+    }
+
+    /**
+     * @return One quote per supported pair
+     */
+    public static List<FXRate> rates() {
+        return rates(CurrencyPair.SUPPORTED);
+    }
+
+    /**
+     * @param pairs The pairs to quote
+     * @return One quote per pair, in the given order
+     */
+    public static List<FXRate> rates(List<CurrencyPair> pairs) {
+        List<FXRate> rates = new ArrayList<>(pairs.size());
+        for (CurrencyPair pair : pairs) {
+            double mid = mid(pair.getCcy1(), pair.getCcy2());
+            rates.add(new FXRate(pair, mid * (1 - HALF_SPREAD), mid * (1 + HALF_SPREAD)));
+        }
+        return rates;
+    }
+
+    /**
+     * @return Every unordered currency pair, base currency first in declaration order
+     */
+    public static List<CurrencyPair> allPairs() {
+        Currency[] currencies = Currency.values();
+        List<CurrencyPair> pairs = new ArrayList<>();
+        for (int i = 0; i < currencies.length; i++) {
+            for (int j = i + 1; j < currencies.length; j++) {
+                pairs.add(new CurrencyPair(currencies[i], currencies[j]));
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Generates orders over the supported pairs, with IDs "1" to {@code count}.
+     *
+     * @param count Number of orders
+     * @param seed Random seed
+     * @param today First day the orders may expire after
+     * @return The orders, valid for one day to one year
+     */
+    public static List<Order> orders(int count, long seed, LocalDate today) {
+        return orders(count, seed, today, CurrencyPair.SUPPORTED);
+    }
+
+    /**
+     * Generates orders over the given pairs, either way round, with IDs "1" to {@code count}.
+     *
+     * @param count Number of orders
+     * @param seed Random seed
+     * @param today First day the orders may expire after
+     * @param pairs The pairs to place orders on
+     * @return The orders, valid for one day to one year
+     */
+    public static List<Order> orders(int count, long seed, LocalDate today, List<CurrencyPair> pairs) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CurrencyPair pair = pairs.get(random.nextInt(pairs.size()));
+            boolean reversed = random.nextBoolean();
+            Currency investmentCcy = reversed ? pair.getCcy2() : pair.getCcy1();
+            Currency counterCcy = reversed ? pair.getCcy1() : pair.getCcy2();
+
+            double limit = Math.round(mid(investmentCcy, counterCcy) * random.nextDouble(0.95, 1.05) * 10_000) / 10_000.0;
+            orders.add(new Order(String.valueOf(i + 1), investmentCcy.name(), random.nextBoolean(), counterCcy.name(),
+                    limit, today.plusDays(random.nextInt(1, 366))));
+        }
+        return orders;
+    }
+
+    private static double mid(Currency base, Currency quote) {
+        return EUR_VALUE[base.ordinal()] / EUR_VALUE[quote.ordinal()];
+    }
+}
@@ -0,0 +1,117 @@
+package com.pm.service;
+
+import com.pm.models.Order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Submits many orders through {@link OrderService#createOrderAsync(Order)} while keeping at most
+ * a fixed number of requests in flight. {@link #submitAll(List)} reports results in input order, whatever
+ * order the responses arrive in; {@link #start(Consumer)} takes orders one at a time as they are produced
+ * and reports each result as it arrives, so the orders never have to be held in memory together.
+ */
+public class BulkOrderSubmitter {
+    private final OrderService orderService;
+    private final int maxInFlight;
+
+    /**
+     * @param orderService The service to create orders with
+     * @param maxInFlight Maximum number of concurrently outstanding create requests
+     */
+    public BulkOrderSubmitter(OrderService orderService, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than zero");
+        }
+        this.orderService = orderService;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Creates all given orders and waits for every request to finish.
+     *
+     * @param orders The orders to create
+     * @return One result per input order, in input order
+     * @throws InterruptedException if interrupted while waiting for in-flight requests
+     */
+    public List<Result> submitAll(List<Order> orders) throws InterruptedException {
+        RequestWindow window = new RequestWindow(maxInFlight);
+        Result[] results = new Result[orders.size()];
+
+        for (int i = 0; i < results.length; i++) {
+            int index = i;
+            Order order = orders.get(i);
+            window.submit(() -> orderService.createOrderAsync(order),
+                    (created, error) -> results[index] = new Result(order, created, unwrap(error)));
+        }
+        window.awaitAll();
+
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    /**
+     * Starts a submission fed one order at a time.
+     *
+     * @param onResult Receives each result, in completion order, on the thread that completed the request
+     * @return The submission to feed orders to
+     */
+    public Submission start(Consumer<Result> onResult) {
+        return new Submission(onResult);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * A submission that creates each order as soon as it is accepted and a permit is free.
+     */
+    public final class Submission implements Consumer<Order> {
+        private final RequestWindow window = new RequestWindow(maxInFlight);
+        private final Consumer<Result> onResult;
+        private long submitted;
+
+        private Submission(Consumer<Result> onResult) {
+            this.onResult = onResult;
+        }
+
+        /**
+         * Sends a create request, first waiting while {@code maxInFlight} requests are outstanding.
+         *
+         * @param order The order to create
+         */
+        @Override
+        public void accept(Order order) {
+            submitted++;
+            window.submitUninterruptibly(() -> orderService.createOrderAsync(order),
+                    (created, error) -> onResult.accept(new Result(order, created, unwrap(error))));
+        }
+
+        /**
+         * Waits until every request sent so far has completed and its result was reported.
+         *
+         * @return Number of orders submitted
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public long awaitAll() throws InterruptedException {
+            window.awaitAll();
+            return submitted;
+        }
+    }
+
+    /**
+     * Outcome of a single create request.
+     *
+     * @param order The order that was submitted
+     * @param created The order returned by the service, or {@code null} on failure
+     * @param error The failure cause, or {@code null} on success
+     */
+    public record Result(Order order, Order created, Throwable error) {
+        public boolean succeeded() {
+            return error == null;
+        }
+    }
+}
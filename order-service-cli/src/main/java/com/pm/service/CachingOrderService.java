@@ -0,0 +1,150 @@
+package com.pm.service;
+
+import com.pm.models.FXRate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link OrderService} decorator that caches the last /rateSnapshot result.
+ * <p>
+ * A snapshot younger than the TTL is served as-is. A snapshot older than the TTL but younger than
+ * the stale limit is still served immediately while a single background refresh replaces it
+ * (stale-while-revalidate). Only a missing or too-old snapshot makes the caller wait for the service.
+ * Only the blocking {@link #getExchangeRates()} is cached; the async variant always goes to the service.
+ */
+@Slf4j
+public class CachingOrderService extends ForwardingOrderService {
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicReference<RateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a caching decorator.
+     *
+     * @param delegate The service to fetch rates from
+     * @param ttl How long a snapshot is served without a refresh
+     * @param maxStale How long a snapshot may be served while a background refresh is running
+     */
+    public CachingOrderService(OrderService delegate, Duration ttl, Duration maxStale) {
+        this(delegate, ttl, maxStale, System::nanoTime);
+    }
+
+    /**
+     * Creates a caching decorator with an explicit time source.
+     *
+     * @param delegate The service to fetch rates from
+     * @param ttl How long a snapshot is served without a refresh
+     * @param maxStale How long a snapshot may be served while a background refresh is running
+     * @param nanoClock Monotonic time source in nanoseconds
+     */
+    public CachingOrderService(OrderService delegate, Duration ttl, Duration maxStale, LongSupplier nanoClock) {
+        super(delegate);
+        if (maxStale.compareTo(ttl) < 0) {
+            throw new IllegalArgumentException("maxStale must not be shorter than ttl");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    @Override
+    public List<FXRate> getExchangeRates() throws Exception {
+        RateSnapshot current = snapshot.get();
+
+        if (current != null) {
+            long age = nanoClock.getAsLong() - current.fetchedAt();
+            if (age < ttlNanos) {
+                hits.increment();
+                return current.rates();
+            }
+            if (age < maxStaleNanos) {
+                staleHits.increment();
+                refreshInBackground();
+                return current.rates();
+            }
+        }
+
+        misses.increment();
+        return store(delegate.getExchangeRates());
+    }
+
+    /**
+     * Drops the cached snapshot, forcing the next call to fetch from the service.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    /** @return Number of calls served from a fresh snapshot */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /** @return Number of calls served from a stale snapshot while it was being refreshed */
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    /** @return Number of calls that had to wait for the service */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+
+        CompletableFuture<List<FXRate>> refresh;
+        try {
+            refresh = delegate.getExchangeRatesAsync();
+        } catch (RuntimeException e) {
+            // Failing before the request was even sent must not leave the refresh marked as running
+            log.warn("Background rate refresh failed", e);
+            refreshing.set(false);
+            return;
+        }
+
+        refresh.whenComplete((rates, error) -> {
+            try {
+                if (error != null) {
+                    log.warn("Background rate refresh failed", error);
+                } else {
+                    store(rates);
+                }
+            } finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    private List<FXRate> store(List<FXRate> rates) {
+        RateSnapshot fetched = new RateSnapshot(List.copyOf(rates), nanoClock.getAsLong());
+        snapshot.accumulateAndGet(fetched,
+                (existing, candidate) -> existing == null || candidate.fetchedAt() >= existing.fetchedAt() ? candidate : existing);
+        return fetched.rates();
+    }
+
+    /**
+     * Record holding a cached rate snapshot and the time it was fetched.
+     *
+     * @param rates The immutable rate list
+     * @param fetchedAt The {@code nanoClock} reading when the snapshot arrived
+     */
+    private record RateSnapshot(List<FXRate> rates, long fetchedAt) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.pm.service;
+
+import com.pm.models.Currency;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Base class for {@link OrderService} decorators.
+ * Forwards every call, including the default async and streaming methods, to the wrapped service,
+ * so subclasses only override what they change and keep the delegate's optimised paths.
+ */
+public abstract class ForwardingOrderService implements OrderService {
+    /** The wrapped service */
+    protected final OrderService delegate;
+
+    protected ForwardingOrderService(OrderService delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Order createOrder(Order order) throws Exception {
+        return delegate.createOrder(order);
+    }
+
+    @Override
+    public boolean cancelOrder(String orderId) throws Exception {
+        return delegate.cancelOrder(orderId);
+    }
+
+    @Override
+    public List<Order> getAllOrders() throws Exception {
+        return delegate.getAllOrders();
+    }
+
+    @Override
+    public List<FXRate> getExchangeRates() throws Exception {
+        return delegate.getExchangeRates();
+    }
+
+    @Override
+    public void streamOrders(Consumer<Order> consumer) throws Exception {
+        delegate.streamOrders(consumer);
+    }
+
+    @Override
+    public void streamOrders(Currency investmentCcy, Currency counterCcy, Consumer<Order> consumer) throws Exception {
+        delegate.streamOrders(investmentCcy, counterCcy, consumer);
+    }
+
+    @Override
+    public void loadOrders(OrderStore store) throws Exception {
+        delegate.loadOrders(store);
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrderAsync(Order order) {
+        return delegate.createOrderAsync(order);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
+        return delegate.cancelOrderAsync(orderId);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrdersAsync() {
+        return delegate.getAllOrdersAsync();
+    }
+
+    @Override
+    public CompletableFuture<List<FXRate>> getExchangeRatesAsync() {
+        return delegate.getExchangeRatesAsync();
+    }
+}
@@ -2,104 +2,273 @@ package com.pm.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.io.CountingInputStream;
+import com.pm.metrics.MetricsRegistry;
 import com.pm.models.FXRate;
 import com.pm.models.Order;
+import com.pm.models.OrderStore;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
+/**
+ * {@link OrderService} backed by the order service's REST API.
+ * <p>
+ * The HTTP client and the Jackson mapper are shared by every instance and created on the first request
+ * rather than on construction, so building the service stack at startup loads none of their classes.
+ */
 public class HttpService implements OrderService {
-
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
     private final String baseUrl;
+    private final MetricsRegistry metrics;
 
     public HttpService(String baseUrl) {
+        this(baseUrl, MetricsRegistry.global());
+    }
+
+    /**
+     * @param baseUrl The order service URL, without a trailing slash
+     * @param metrics Receives per-endpoint request counts, bytes, errors and timings
+     */
+    public HttpService(String baseUrl, MetricsRegistry metrics) {
         this.baseUrl = baseUrl;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+        this.metrics = metrics;
     }
 
 
     @Override
     public Order createOrder(Order order) throws Exception {
-        String json = objectMapper.writeValueAsString(order);
+        return send(createOrderRequest(order), this::parseCreatedOrder);
+    }
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(baseUrl + "/createOrder"))
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(json))
-                .timeout(Duration.ofSeconds(30))
-                .build();
+    @Override
+    public boolean cancelOrder(String orderId) throws Exception {
+        return send(cancelOrderRequest(orderId), this::parseCancelResult);
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    @Override
+    public List<Order> getAllOrders() throws Exception {
+        return send(getRequest("/retrieveOrders"), this::parseOrders);
+    }
 
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to create order. Status: " + response.statusCode() + ", Body: " + response.body());
+    @Override
+    public List<FXRate> getExchangeRates() throws Exception {
+        return send(getRequest("/rateSnapshot"), this::parseRates);
+    }
+
+    /**
+     * Streams /retrieveOrders straight off the response body, decoding one order at a time.
+     */
+    @Override
+    public void streamOrders(Consumer<Order> consumer) throws Exception {
+        readOrderArray(body -> Shared.ORDER_DECODER.streamOrders(body, consumer));
+    }
+
+    /**
+     * Decodes /retrieveOrders straight off the response body into the store's columns.
+     */
+    @Override
+    public void loadOrders(OrderStore store) throws Exception {
+        readOrderArray(body -> Shared.ORDER_DECODER.loadOrders(body, store));
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrderAsync(Order order) {
+        try {
+            return sendAsync(createOrderRequest(order), this::parseCreatedOrder);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
         }
+    }
 
-        return objectMapper.readValue(response.body(), Order.class);
+    @Override
+    public CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
+        return sendAsync(cancelOrderRequest(orderId), this::parseCancelResult);
     }
 
     @Override
-    public boolean cancelOrder(String orderId) throws Exception {
-        HttpRequest request = HttpRequest.newBuilder()
+    public CompletableFuture<List<Order>> getAllOrdersAsync() {
+        return sendAsync(getRequest("/retrieveOrders"), this::parseOrders);
+    }
+
+    @Override
+    public CompletableFuture<List<FXRate>> getExchangeRatesAsync() {
+        return sendAsync(getRequest("/rateSnapshot"), this::parseRates);
+    }
+
+    private HttpRequest createOrderRequest(Order order) throws Exception {
+        String json = Shared.OBJECT_MAPPER.writeValueAsString(order);
+
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/createOrder"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private HttpRequest cancelOrderRequest(String orderId) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(baseUrl + "/cancelOrder"))
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(orderId))
                 .timeout(Duration.ofSeconds(30))
                 .build();
-
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to cancel order. Status: " + response.statusCode() + ", Body: " + response.body());
-        }
-
-        return Boolean.parseBoolean(response.body());
     }
 
-    @Override
-    public List<Order> getAllOrders() throws Exception {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(baseUrl + "/retrieveOrders"))
+    private HttpRequest getRequest(String path) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
                 .GET()
                 .timeout(Duration.ofSeconds(30))
                 .build();
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private Order parseCreatedOrder(HttpResponse<byte[]> response) throws Exception {
+        checkStatus(response, "Failed to create order");
+        return Shared.ORDER_READER.readValue(response.body());
+    }
+
+    private boolean parseCancelResult(HttpResponse<byte[]> response) {
+        checkStatus(response, "Failed to cancel order");
+        return Boolean.parseBoolean(new String(response.body(), StandardCharsets.UTF_8));
+    }
+
+    private List<Order> parseOrders(HttpResponse<byte[]> response) throws Exception {
+        checkStatus(response, "Failed to get orders");
+        return Shared.OBJECT_MAPPER.readValue(response.body(), new TypeReference<List<Order>>() {
+        });
+    }
 
+    private List<FXRate> parseRates(HttpResponse<byte[]> response) throws Exception {
+        checkStatus(response, "Failed to get exchange rates");
+        return Shared.OBJECT_MAPPER.readValue(response.body(), new TypeReference<List<FXRate>>() {
+        });
+    }
+
+    private void checkStatus(HttpResponse<byte[]> response, String failureMessage) {
         if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to get orders. Status: " + response.statusCode() + ", Body: " + response.body());
+            throw new RuntimeException(failureMessage + ". Status: " + response.statusCode() + ", Body: "
+                    + new String(response.body(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void readOrderArray(BodyReader bodyReader) throws Exception {
+        HttpRequest request = getRequest("/retrieveOrders");
+        RequestTrace trace = new RequestTrace(metrics, request);
+        HttpResponse<InputStream> response;
+        try {
+            response = Shared.HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (Exception e) {
+            trace.failed(e);
+            trace.finish(0);
+            throw e;
         }
 
-        return objectMapper.readValue(response.body(), new TypeReference<List<Order>>() {
-        });
+        trace.responded(response.statusCode());
+        try (CountingInputStream body = new CountingInputStream(response.body())) {
+            try {
+                if (response.statusCode() != 200) {
+                    throw new RuntimeException("Failed to get orders. Status: " + response.statusCode()
+                            + ", Body: " + new String(body.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                bodyReader.read(body);
+            } catch (Exception e) {
+                trace.failed(e);
+                throw e;
+            } finally {
+                trace.finish(body.getCount());
+            }
+        }
     }
 
-    @Override
-    public List<FXRate> getExchangeRates() throws Exception {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(baseUrl + "/rateSnapshot"))
-                .GET()
-                .timeout(Duration.ofSeconds(30))
-                .build();
+    private <T> T send(HttpRequest request, ResponseParser<T> parser) throws Exception {
+        RequestTrace trace = new RequestTrace(metrics, request);
+        HttpResponse<byte[]> response;
+        try {
+            response = Shared.HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (Exception e) {
+            trace.failed(e);
+            trace.finish(0);
+            throw e;
+        }
+        return parse(trace, response, parser);
+    }
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    private <T> CompletableFuture<T> sendAsync(HttpRequest request, ResponseParser<T> parser) {
+        RequestTrace trace = new RequestTrace(metrics, request);
+        return Shared.HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        trace.failed(error);
+                        trace.finish(0);
+                    }
+                })
+                .thenApply(response -> {
+                    try {
+                        return parse(trace, response, parser);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
 
-        if (response.statusCode() != 200) {
-            throw new RuntimeException("Failed to get exchange rates. Status: " + response.statusCode() + ", Body: " + response.body());
+    /**
+     * Parses a received response, tracing network time up to here and the parse as decode time.
+     */
+    private <T> T parse(RequestTrace trace, HttpResponse<byte[]> response, ResponseParser<T> parser) throws Exception {
+        trace.responded(response.statusCode());
+        try {
+            return parser.parse(response);
+        } catch (Exception e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish(response.body().length);
         }
+    }
 
-        return objectMapper.readValue(response.body(), new TypeReference<List<FXRate>>() {
-        });
+    /**
+     * Client and mapper shared by all instances, initialised when the first request is built.
+     */
+    private static final class Shared {
+        static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(VirtualThreads.executor())
+                .build();
+        static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+        static final ObjectReader ORDER_READER = OBJECT_MAPPER.readerFor(Order.class);
+        static final OrderJsonDecoder ORDER_DECODER = new OrderJsonDecoder(OBJECT_MAPPER);
+    }
+
+    /**
+     * Consumes a successful response body.
+     */
+    @FunctionalInterface
+    private interface BodyReader {
+        void read(InputStream body) throws IOException;
+    }
+
+    /**
+     * Converts a raw HTTP response into the endpoint's result type.
+     *
+     * @param <T> The result type
+     */
+    @FunctionalInterface
+    private interface ResponseParser<T> {
+        T parse(HttpResponse<byte[]> response) throws Exception;
     }
 }
@@ -0,0 +1,208 @@
+package com.pm.service;
+
+import com.pm.models.Currency;
+import com.pm.models.Order;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Client-side replica of the order book.
+ * <p>
+ * Orders are keyed by ID and additionally indexed by currency pair in an array addressed by
+ * {@code investmentCcy.ordinal() * CURRENCIES + counterCcy.ordinal()}, which serves pair-filtered reads
+ * without scanning the whole book. Writes are serialised so both views stay consistent; reads are lock-free
+ * and weakly consistent.
+ * <p>
+ * Local writes are stamped with a version so that a {@link Reconciliation} never undoes a create or cancel
+ * that happened after the reconciling fetch started.
+ */
+public class OrderBook {
+    private static final int CURRENCIES = Currency.values().length;
+
+    private final Map<String, Order> byId = new ConcurrentHashMap<>();
+    private final Map<String, Order>[] byPair;
+    private final Map<String, Long> localWrites = new HashMap<>();
+    private long version;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public OrderBook() {
+        byPair = new Map[CURRENCIES * CURRENCIES];
+        for (int i = 0; i < byPair.length; i++) {
+            byPair[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * Adds or replaces an order as the result of a local create.
+     *
+     * @param order The order returned by the service
+     */
+    public synchronized void put(Order order) {
+        localWrites.put(order.getId(), ++version);
+        apply(order);
+    }
+
+    /**
+     * Removes an order as the result of a local cancel.
+     *
+     * @param orderId The ID of the cancelled order
+     */
+    public synchronized void remove(String orderId) {
+        localWrites.put(orderId, ++version);
+        unapply(orderId);
+    }
+
+    /**
+     * @param orderId The order ID
+     * @return The order, or {@code null} if it is not in the book
+     */
+    public Order get(String orderId) {
+        return byId.get(orderId);
+    }
+
+    /**
+     * @return Number of orders in the book
+     */
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * Passes every order in the book to the consumer.
+     *
+     * @param consumer Receives each order
+     */
+    public void forEach(Consumer<Order> consumer) {
+        byId.values().forEach(consumer);
+    }
+
+    /**
+     * @return A point-in-time copy of all orders
+     */
+    public List<Order> snapshot() {
+        return List.copyOf(byId.values());
+    }
+
+    /**
+     * Returns the orders for one investment/counter currency combination.
+     *
+     * @param investmentCcy The investment currency
+     * @param counterCcy The counter currency
+     * @return A live, unmodifiable view of the matching orders
+     */
+    public Collection<Order> ordersFor(Currency investmentCcy, Currency counterCcy) {
+        return Collections.unmodifiableCollection(
+                byPair[investmentCcy.ordinal() * CURRENCIES + counterCcy.ordinal()].values());
+    }
+
+    /**
+     * Starts applying a full server listing to the book.
+     * Feed every order the service returns to the reconciliation, then call {@link Reconciliation#finish()}.
+     * Orders created or cancelled locally after this call are left as they are.
+     *
+     * @return The reconciliation, usable as a consumer of streamed orders
+     */
+    public synchronized Reconciliation startReconciliation() {
+        return new Reconciliation(version);
+    }
+
+    private boolean isNewerLocally(String orderId, long sinceVersion) {
+        Long writeVersion = localWrites.get(orderId);
+        return writeVersion != null && writeVersion > sinceVersion;
+    }
+
+    private void apply(Order order) {
+        Map<String, Order> index = pairIndex(order);
+        Order previous = byId.put(order.getId(), order);
+        if (previous != null) {
+            pairIndex(previous).remove(previous.getId());
+        }
+        index.put(order.getId(), order);
+    }
+
+    private void unapply(String orderId) {
+        Order previous = byId.remove(orderId);
+        if (previous != null) {
+            pairIndex(previous).remove(orderId);
+        }
+    }
+
+    private Map<String, Order> pairIndex(Order order) {
+        int investment = Currency.valueOf(order.getInvestmentCcy()).ordinal();
+        int counter = Currency.valueOf(order.getCounterCcy()).ordinal();
+        return byPair[investment * CURRENCIES + counter];
+    }
+
+    /**
+     * Applies the differences between the book and one full server listing, order by order,
+     * so the listing never has to be buffered.
+     */
+    public class Reconciliation implements Consumer<Order> {
+        private final long sinceVersion;
+        private final Set<String> seen = new HashSet<>();
+        private int added;
+        private int updated;
+
+        private Reconciliation(long sinceVersion) {
+            this.sinceVersion = sinceVersion;
+        }
+
+        @Override
+        public void accept(Order order) {
+            seen.add(order.getId());
+
+            synchronized (OrderBook.this) {
+                if (isNewerLocally(order.getId(), sinceVersion)) {
+                    return;
+                }
+
+                Order existing = byId.get(order.getId());
+                if (existing == null) {
+                    added++;
+                    apply(order);
+                } else if (!existing.equals(order)) {
+                    updated++;
+                    apply(order);
+                }
+            }
+        }
+
+        /**
+         * Removes every order the listing did not contain.
+         *
+         * @return Counts of the changes that were applied
+         */
+        public ReconcileResult finish() {
+            synchronized (OrderBook.this) {
+                int removed = 0;
+                for (String orderId : List.copyOf(byId.keySet())) {
+                    if (!seen.contains(orderId) && !isNewerLocally(orderId, sinceVersion)) {
+                        removed++;
+                        unapply(orderId);
+                    }
+                }
+
+                localWrites.values().removeIf(writeVersion -> writeVersion <= sinceVersion);
+                return new ReconcileResult(added, updated, removed);
+            }
+        }
+    }
+
+    /**
+     * Record summarising the changes applied by one reconciliation.
+     *
+     * @param added Orders that were missing locally
+     * @param updated Orders whose local copy differed from the service
+     * @param removed Orders that no longer exist on the service
+     */
+    public record ReconcileResult(int added, int updated, int removed) {
+    }
+}
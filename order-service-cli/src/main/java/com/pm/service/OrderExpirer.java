@@ -0,0 +1,210 @@
+package com.pm.service;
+
+import com.pm.models.Order;
+import com.pm.models.TimingWheel;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cancels orders whose validity date has passed.
+ * <p>
+ * Known orders are bucketed by the day after their validity date in a {@link TimingWheel}, so finding the
+ * expired ones costs only the orders that actually expired, not a scan of the book. When a day's bucket fires,
+ * its orders are cancelled through {@link OrderService#cancelOrderAsync(String)} with a bounded number of
+ * requests in flight. An order is valid through its validity date, matching the check new orders get.
+ * <p>
+ * The set of known orders is refreshed from {@link OrderService#streamOrders}; orders that disappear from the
+ * book or change their validity date before their bucket fires are skipped, and orders cancelled here are not
+ * cancelled again while a stale listing still contains them.
+ */
+@Slf4j
+public class OrderExpirer implements AutoCloseable {
+    private final OrderService orderService;
+    private final int maxInFlight;
+    private final Clock clock;
+    private final Map<String, Order> tracked = new ConcurrentHashMap<>();
+    private final Map<String, Order> due = new LinkedHashMap<>();
+    /** Orders already cancelled here, kept until the book stops listing them */
+    private final Set<String> cancelledIds = ConcurrentHashMap.newKeySet();
+    private TimingWheel wheel;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param orderService The service to read and cancel orders with
+     * @param maxInFlight Maximum number of concurrently outstanding cancel requests
+     */
+    public OrderExpirer(OrderService orderService, int maxInFlight) {
+        this(orderService, maxInFlight, Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param orderService The service to read and cancel orders with
+     * @param maxInFlight Maximum number of concurrently outstanding cancel requests
+     * @param clock The clock that decides the current day
+     */
+    public OrderExpirer(OrderService orderService, int maxInFlight, Clock clock) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than zero");
+        }
+        this.orderService = orderService;
+        this.maxInFlight = maxInFlight;
+        this.clock = clock;
+    }
+
+    /**
+     * Schedules every order of the book that is not scheduled yet, or whose validity date changed.
+     *
+     * @return Number of orders now waiting to expire
+     * @throws Exception If the orders could not be read
+     */
+    public synchronized int refresh() throws Exception {
+        if (wheel == null) {
+            wheel = new TimingWheel((int) today().toEpochDay());
+        }
+        Map<String, Order> seen = new ConcurrentHashMap<>();
+        orderService.streamOrders(order -> {
+            seen.put(order.getId(), order);
+            if (cancelledIds.contains(order.getId())) {
+                return;
+            }
+            Order known = tracked.get(order.getId());
+            if (order.getValidUntil() != null
+                    && (known == null || !order.getValidUntil().equals(known.getValidUntil()))) {
+                wheel.schedule(order.getId(), expiryDay(order));
+            }
+        });
+        cancelledIds.retainAll(seen.keySet());
+        seen.keySet().removeAll(cancelledIds);
+        seen.values().removeIf(order -> order.getValidUntil() == null);
+        tracked.keySet().retainAll(seen.keySet());
+        due.keySet().retainAll(seen.keySet());
+        tracked.putAll(seen);
+        return tracked.size();
+    }
+
+    /**
+     * Advances to today and returns every known order past its validity date that has not been cancelled.
+     *
+     * @return The expired orders, oldest expiry first
+     * @throws Exception If the orders could not be read
+     */
+    public synchronized List<Order> expiredOrders() throws Exception {
+        if (wheel == null) {
+            refresh();
+        }
+        wheel.advanceTo((int) today().toEpochDay(), orderId -> {
+            Order order = tracked.get(orderId);
+            // Skip stale entries of orders that were removed or rescheduled after this entry was added
+            if (order != null && expiryDay(order) <= wheel.now()) {
+                due.put(orderId, order);
+            }
+        });
+        return new ArrayList<>(due.values());
+    }
+
+    /**
+     * Cancels every expired order.
+     *
+     * @return Counts of cancelled and failed orders
+     * @throws Exception If the orders could not be read, or if interrupted while cancelling
+     */
+    public synchronized Result expire() throws Exception {
+        List<Order> expired = expiredOrders();
+        RequestWindow window = new RequestWindow(maxInFlight);
+        AtomicInteger cancelled = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Map<String, Throwable> errors = new ConcurrentHashMap<>();
+
+        for (Order order : expired) {
+            window.submit(() -> orderService.cancelOrderAsync(order.getId()), (result, error) -> {
+                if (error == null) {
+                    (Boolean.TRUE.equals(result) ? cancelled : failed).incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                    errors.put(order.getId(), error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        }
+        window.awaitAll();
+
+        for (Order order : expired) {
+            if (!errors.containsKey(order.getId())) {
+                due.remove(order.getId());
+                tracked.remove(order.getId());
+                cancelledIds.add(order.getId());
+            }
+        }
+        return new Result(expired.size(), cancelled.get(), failed.get(), errors);
+    }
+
+    /**
+     * Checks for expired orders now and then at every interval, on a daemon thread, until closed.
+     *
+     * @param interval Time between checks
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::expireQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void expireQuietly() {
+        try {
+            refresh();
+            Result result = expire();
+            if (result.expired() > 0) {
+                log.info("Expired orders: {} cancelled, {} failed", result.cancelled(), result.failed());
+            }
+        } catch (Exception e) {
+            log.warn("Expiry check failed", e);
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private static int expiryDay(Order order) {
+        return (int) order.getValidUntil().toEpochDay() + 1;
+    }
+
+    /**
+     * Outcome of one expiry run.
+     *
+     * @param expired Number of expired orders found
+     * @param cancelled Number of orders the service cancelled
+     * @param failed Number of orders the service did not cancel or that failed with an error
+     * @param errors Failure cause by order ID, for requests that failed with an error
+     */
+    public record Result(int expired, int cancelled, int failed, Map<String, Throwable> errors) {
+    }
+}
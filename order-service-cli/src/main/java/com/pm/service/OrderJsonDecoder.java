@@ -0,0 +1,146 @@
+package com.pm.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.pm.models.Currency;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Incremental decoder for a JSON array of orders, as returned by /retrieveOrders.
+ * <p>
+ * The array is read token by token, so neither the raw payload nor a full order list is held in memory.
+ * Orders are either bound one at a time or decoded straight into the columns of an {@link OrderStore}.
+ */
+public class OrderJsonDecoder {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader orderReader;
+
+    /**
+     * @param objectMapper The mapper whose configuration is used to bind orders
+     */
+    public OrderJsonDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.orderReader = objectMapper.readerFor(Order.class);
+    }
+
+    /**
+     * Binds each order of the array and hands it to the consumer.
+     *
+     * @param in The JSON array
+     * @param consumer Receives the orders in array order
+     * @throws IOException If the input is not a JSON array of orders
+     */
+    public void streamOrders(InputStream in, Consumer<Order> consumer) throws IOException {
+        readArray(in, parser -> consumer.accept(orderReader.readValue(parser)));
+    }
+
+    /**
+     * Decodes the array into the store's columns, without creating an {@link Order} per element.
+     *
+     * @param in The JSON array
+     * @param store The store to append to
+     * @throws IOException If the input is not a JSON array of orders
+     */
+    public void loadOrders(InputStream in, OrderStore store) throws IOException {
+        readArray(in, parser -> readOrderColumns(parser, store));
+    }
+
+    private void readArray(InputStream in, ElementReader elementReader) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of orders");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                elementReader.read(parser);
+            }
+        }
+    }
+
+    private void readOrderColumns(JsonParser parser, OrderStore store) throws IOException {
+        String id = null;
+        boolean buy = false;
+        String investmentCcy = null;
+        String counterCcy = null;
+        double limit = 0.0;
+        int validUntilEpochDay = OrderStore.NO_EXPIRY;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "id" -> id = parser.getText();
+                case "buy" -> buy = parser.getBooleanValue();
+                case "investmentCcy" -> investmentCcy = parser.getText();
+                case "counterCcy" -> counterCcy = parser.getText();
+                case "limit" -> limit = parser.getDoubleValue();
+                case "validUntil" -> validUntilEpochDay = parseEpochDay(parser.getText());
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (investmentCcy == null || counterCcy == null) {
+            throw new IOException("Order " + id + " has no currency pair");
+        }
+        store.add(id, buy, RateTable.index(currency(id, investmentCcy), currency(id, counterCcy)), limit,
+                validUntilEpochDay);
+    }
+
+    private static Currency currency(String id, String code) throws IOException {
+        try {
+            return Currency.valueOf(code);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Order " + id + " has an unknown currency: " + code, e);
+        }
+    }
+
+    /**
+     * Parses a dd.MM.yyyy date to an epoch day without going through a {@link DateTimeFormatter}
+     * for the common, well-formed case.
+     */
+    private static int parseEpochDay(String text) {
+        if (text.length() == 10 && text.charAt(2) == '.' && text.charAt(5) == '.') {
+            int day = digits(text, 0, 2);
+            int month = digits(text, 3, 5);
+            int year = digits(text, 6, 10);
+            if (day >= 0 && month >= 0 && year >= 0) {
+                return (int) LocalDate.of(year, month, day).toEpochDay();
+            }
+        }
+        return (int) LocalDate.parse(text, DATE_FORMATTER).toEpochDay();
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Consumes one order object from a parser positioned on its START_OBJECT token.
+     */
+    @FunctionalInterface
+    private interface ElementReader {
+        void read(JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,148 @@
+package com.pm.service;
+
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Binary order book file of fixed-width records, for exporting and importing large books.
+ * <p>
+ * After a 16-byte header (magic, format version, record count) every order takes {@value #RECORD_BYTES}
+ * bytes: the pair index from {@link RateTable#index}, the side, the ID length, the expiry as an epoch day or
+ * {@link OrderStore#NO_EXPIRY}, the limit, and the ID as UTF-8 padded to {@value #MAX_ID_BYTES} bytes. Because
+ * every record has the same size, the file is read through memory-mapped windows of whole records without any
+ * per-record parsing state. Writing checks every ID first, then streams the records through one reused buffer
+ * into a temporary file that is moved into place, so a failed export never leaves a partial file behind and no
+ * mapping keeps the file from being replaced.
+ */
+public final class OrderRecordFile {
+    /** Size of one order record in bytes */
+    public static final int RECORD_BYTES = 32;
+    /** Longest order ID that fits in a record, in UTF-8 bytes */
+    public static final int MAX_ID_BYTES = 16;
+
+    private static final int MAGIC = 0x46584F31; // "FXO1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    /** Records mapped at a time, so files larger than one mapping can be handled */
+    private static final int WINDOW_RECORDS = 1 << 20;
+    /** Records buffered per write */
+    private static final int WRITE_BUFFER_RECORDS = 4096;
+    private static final byte[] ID_PADDING = new byte[MAX_ID_BYTES];
+
+    private OrderRecordFile() {
+    }
+
+    /**
+     * Writes every order of a store, replacing the file.
+     *
+     * @param file The file to write
+     * @param orders The orders to write
+     * @throws IllegalArgumentException if an order ID is longer than {@value #MAX_ID_BYTES} UTF-8 bytes
+     * @throws IOException If the file could not be written
+     */
+    public static void write(Path file, OrderStore orders) throws IOException {
+        for (int row = 0; row < orders.size(); row++) {
+            if (orders.id(row).getBytes(StandardCharsets.UTF_8).length > MAX_ID_BYTES) {
+                throw new IllegalArgumentException("Order ID too long to export: " + orders.id(row));
+            }
+        }
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            writeRecords(temp, orders);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeRecords(Path file, OrderStore orders) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_RECORDS * RECORD_BYTES);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(orders.size());
+            for (int row = 0; row < orders.size(); row++) {
+                if (buffer.remaining() < RECORD_BYTES) {
+                    writeFully(channel, buffer);
+                }
+                byte[] id = orders.id(row).getBytes(StandardCharsets.UTF_8);
+                buffer.putShort((short) orders.pairId(row))
+                        .put((byte) (orders.isBuy(row) ? 1 : 0))
+                        .put((byte) id.length)
+                        .putInt(orders.validUntilEpochDay(row))
+                        .putDouble(orders.limit(row))
+                        .put(id)
+                        .put(ID_PADDING, 0, MAX_ID_BYTES - id.length);
+            }
+            writeFully(channel, buffer);
+            channel.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Reads every order of a file, in file order.
+     *
+     * @param file The file to read
+     * @param consumer Receives each order
+     * @return Number of orders read
+     * @throws IllegalArgumentException if the file is not an order record file or is truncated
+     * @throws IOException If the file could not be read
+     */
+    public static long read(Path file, Consumer<Order> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (channel.read(header, 0) != HEADER_BYTES || header.flip().getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not an order export file: " + file);
+            }
+            long records = header.getLong();
+            if (records < 0 || channel.size() < HEADER_BYTES + records * RECORD_BYTES) {
+                throw new IllegalArgumentException("Truncated order export file: " + file);
+            }
+
+            byte[] id = new byte[MAX_ID_BYTES];
+            for (long first = 0; first < records; first += WINDOW_RECORDS) {
+                int count = (int) Math.min(WINDOW_RECORDS, records - first);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * RECORD_BYTES, (long) count * RECORD_BYTES);
+                for (int i = 0; i < count; i++) {
+                    int pairId = buffer.getShort();
+                    boolean buy = buffer.get() != 0;
+                    int idLength = buffer.get();
+                    int validUntil = buffer.getInt();
+                    double limit = buffer.getDouble();
+                    buffer.get(id);
+                    if (pairId < 0 || pairId >= RateTable.CURRENCIES * RateTable.CURRENCIES
+                            || RateTable.base(pairId) == RateTable.quote(pairId)
+                            || idLength < 0 || idLength > MAX_ID_BYTES) {
+                        throw new IllegalArgumentException("Corrupt record " + (first + i + 1) + " in " + file);
+                    }
+                    consumer.accept(new Order(new String(id, 0, idLength, StandardCharsets.UTF_8),
+                            RateTable.base(pairId).name(), buy, RateTable.quote(pairId).name(), limit,
+                            validUntil == OrderStore.NO_EXPIRY ? null : LocalDate.ofEpochDay(validUntil)));
+                }
+            }
+            return records;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.pm.service;
 
+import com.pm.models.Currency;
 import com.pm.models.FXRate;
 import com.pm.models.Order;
+import com.pm.models.OrderStore;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface OrderService {
     Order createOrder(Order order) throws Exception;
@@ -13,4 +17,87 @@ public interface OrderService {
     List<Order> getAllOrders() throws Exception;
 
     List<FXRate> getExchangeRates() throws Exception;
+
+    /**
+     * Streams every order in the book to the given consumer, one at a time.
+     * Implementations should decode incrementally so the full book never has to be held in memory.
+     * The default implementation falls back to {@link #getAllOrders()}.
+     *
+     * @param consumer Receives each order in the order the service returned them
+     * @throws Exception If the orders could not be retrieved or decoded
+     */
+    default void streamOrders(Consumer<Order> consumer) throws Exception {
+        getAllOrders().forEach(consumer);
+    }
+
+    /**
+     * Streams the orders of one investment/counter currency combination to the given consumer.
+     * Implementations holding the book locally can serve this from a per-pair index instead of scanning
+     * every order. The default implementation filters {@link #streamOrders(Consumer)}.
+     *
+     * @param investmentCcy The investment currency
+     * @param counterCcy The counter currency
+     * @param consumer Receives each matching order
+     * @throws Exception If the orders could not be retrieved or decoded
+     */
+    default void streamOrders(Currency investmentCcy, Currency counterCcy, Consumer<Order> consumer) throws Exception {
+        String investment = investmentCcy.name();
+        String counter = counterCcy.name();
+        streamOrders(order -> {
+            if (investment.equals(order.getInvestmentCcy()) && counter.equals(order.getCounterCcy())) {
+                consumer.accept(order);
+            }
+        });
+    }
+
+    /**
+     * Appends every order in the book to a columnar store.
+     * Implementations that decode the wire format themselves can fill the columns directly instead of
+     * building an {@link Order} per row. The default implementation goes through {@link #streamOrders(Consumer)}.
+     *
+     * @param store The store to append to
+     * @throws Exception If the orders could not be retrieved or decoded
+     */
+    default void loadOrders(OrderStore store) throws Exception {
+        streamOrders(store);
+    }
+
+    /**
+     * Asynchronous variant of {@link #createOrder(Order)}.
+     * The default implementation runs the blocking call on a virtual thread.
+     *
+     * @param order The order to create
+     * @return A future completed with the created order
+     */
+    default CompletableFuture<Order> createOrderAsync(Order order) {
+        return VirtualThreads.supplyAsync(() -> createOrder(order));
+    }
+
+    /**
+     * Asynchronous variant of {@link #cancelOrder(String)}.
+     *
+     * @param orderId The ID of the order to cancel
+     * @return A future completed with {@code true} if the order was found and cancelled
+     */
+    default CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
+        return VirtualThreads.supplyAsync(() -> cancelOrder(orderId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getAllOrders()}.
+     *
+     * @return A future completed with all orders in the book
+     */
+    default CompletableFuture<List<Order>> getAllOrdersAsync() {
+        return VirtualThreads.supplyAsync(this::getAllOrders);
+    }
+
+    /**
+     * Asynchronous variant of {@link #getExchangeRates()}.
+     *
+     * @return A future completed with the current rate snapshot
+     */
+    default CompletableFuture<List<FXRate>> getExchangeRatesAsync() {
+        return VirtualThreads.supplyAsync(this::getExchangeRates);
+    }
 }
@@ -0,0 +1,147 @@
+package com.pm.service;
+
+import com.pm.metrics.LatencyHistogram;
+import com.pm.models.RateTable;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Polls rate snapshots and reports which pairs moved since the previous poll.
+ * <p>
+ * Snapshots are fetched with {@link OrderService#getExchangeRatesAsync()}, which no decorator caches, so every
+ * poll sees the service's current rates. The previous bid and ask of every quoted pair are kept in primitive
+ * arrays indexed like {@link RateTable}, so diffing a snapshot allocates nothing but the list of moved pairs.
+ * <p>
+ * The interval adapts to the market: it drops to the minimum as soon as a snapshot differs from the previous
+ * one and doubles, up to the maximum, with every unchanged snapshot.
+ */
+public class RatePoller {
+    private static final int PAIRS = RateTable.CURRENCIES * RateTable.CURRENCIES;
+
+    private final OrderService orderService;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final double[] bids = new double[PAIRS];
+    private final double[] asks = new double[PAIRS];
+    private final boolean[] quoted = new boolean[PAIRS];
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final int[] changedScratch = new int[PAIRS];
+
+    private long intervalNanos;
+    private long polls;
+    private long changedPolls;
+    private long changedPairs;
+    private long failures;
+
+    /**
+     * @param orderService The service to poll
+     * @param minInterval Interval used while rates are moving
+     * @param maxInterval Longest interval used while rates are unchanged
+     */
+    public RatePoller(OrderService orderService, Duration minInterval, Duration maxInterval) {
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0) {
+            throw new IllegalArgumentException("Intervals must be positive and the maximum must not be below the minimum");
+        }
+        this.orderService = orderService;
+        this.minIntervalNanos = minInterval.toNanos();
+        this.maxIntervalNanos = maxInterval.toNanos();
+        this.intervalNanos = minIntervalNanos;
+        Arrays.fill(bids, Double.NaN);
+        Arrays.fill(asks, Double.NaN);
+    }
+
+    /**
+     * Fetches a snapshot, diffs it against the previous one and adapts the interval.
+     *
+     * @return The snapshot and the pairs whose bid, ask or presence changed
+     * @throws Exception If the snapshot could not be fetched
+     */
+    public Update poll() throws Exception {
+        long start = System.nanoTime();
+        RateTable rates;
+        try {
+            rates = RateTable.of(orderService.getExchangeRatesAsync().get());
+        } catch (ExecutionException e) {
+            failures++;
+            intervalNanos = maxIntervalNanos;
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+        long latencyNanos = System.nanoTime() - start;
+        latency.recordNanos(latencyNanos);
+        polls++;
+
+        int changed = 0;
+        boolean pairSetChanged = false;
+        for (int pair = 0; pair < PAIRS; pair++) {
+            boolean isQuoted = rates.isQuoted(pair);
+            if (isQuoted != quoted[pair]) {
+                pairSetChanged = true;
+            } else if (!isQuoted || (bids[pair] == rates.bid(pair) && asks[pair] == rates.ask(pair))) {
+                continue;
+            }
+
+            changedScratch[changed++] = pair;
+            quoted[pair] = isQuoted;
+            bids[pair] = isQuoted ? rates.bid(pair) : Double.NaN;
+            asks[pair] = isQuoted ? rates.ask(pair) : Double.NaN;
+        }
+
+        if (changed > 0) {
+            changedPolls++;
+            changedPairs += changed;
+            intervalNanos = minIntervalNanos;
+        } else {
+            intervalNanos = Math.min(maxIntervalNanos, intervalNanos * 2);
+        }
+        return new Update(rates, Arrays.copyOf(changedScratch, changed), pairSetChanged, latencyNanos);
+    }
+
+    /**
+     * @return How long to wait before the next poll
+     */
+    public Duration nextInterval() {
+        return Duration.ofNanos(intervalNanos);
+    }
+
+    public long getPolls() {
+        return polls;
+    }
+
+    /**
+     * @return Number of polls whose snapshot differed from the previous one
+     */
+    public long getChangedPolls() {
+        return changedPolls;
+    }
+
+    /**
+     * @return Total number of pair changes seen across all polls
+     */
+    public long getChangedPairs() {
+        return changedPairs;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return Round-trip time of every successful poll
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * One polled snapshot.
+     *
+     * @param rates The snapshot
+     * @param changedPairs Pair indices whose bid, ask or presence changed, ascending
+     * @param pairSetChanged {@code true} if a pair appeared or disappeared
+     * @param latencyNanos Round-trip time of the poll
+     */
+    public record Update(RateTable rates, int[] changedPairs, boolean pairSetChanged, long latencyNanos) {
+    }
+}
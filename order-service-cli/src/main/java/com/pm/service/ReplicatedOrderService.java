@@ -0,0 +1,167 @@
+package com.pm.service;
+
+import com.pm.models.Currency;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link OrderService} decorator that serves order reads from a local {@link OrderBook} replica.
+ * <p>
+ * The replica is loaded from /retrieveOrders on first use, then kept current by applying the results of
+ * this client's own creates and cancels, and by a periodic reconciliation that applies only the
+ * differences against a fresh server listing.
+ */
+@Slf4j
+public class ReplicatedOrderService extends ForwardingOrderService implements AutoCloseable {
+    private final OrderBook orderBook = new OrderBook();
+    private final Object reconcileLock = new Object();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean loaded;
+
+    /**
+     * Creates a replicating decorator.
+     *
+     * @param delegate The service to replicate
+     * @param reconcileInterval How often to reconcile against the service once loaded; zero disables it
+     */
+    public ReplicatedOrderService(OrderService delegate, Duration reconcileInterval) {
+        super(delegate);
+
+        if (reconcileInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-book-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = reconcileInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::reconcileIfLoaded, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Order createOrder(Order order) throws Exception {
+        Order created = delegate.createOrder(order);
+        orderBook.put(created);
+        return created;
+    }
+
+    @Override
+    public CompletableFuture<Order> createOrderAsync(Order order) {
+        return delegate.createOrderAsync(order).thenApply(created -> {
+            orderBook.put(created);
+            return created;
+        });
+    }
+
+    @Override
+    public boolean cancelOrder(String orderId) throws Exception {
+        boolean cancelled = delegate.cancelOrder(orderId);
+        orderBook.remove(orderId);
+        return cancelled;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
+        return delegate.cancelOrderAsync(orderId).thenApply(cancelled -> {
+            orderBook.remove(orderId);
+            return cancelled;
+        });
+    }
+
+    @Override
+    public List<Order> getAllOrders() throws Exception {
+        ensureLoaded();
+        return orderBook.snapshot();
+    }
+
+    @Override
+    public void streamOrders(Consumer<Order> consumer) throws Exception {
+        ensureLoaded();
+        orderBook.forEach(consumer);
+    }
+
+    @Override
+    public void streamOrders(Currency investmentCcy, Currency counterCcy, Consumer<Order> consumer) throws Exception {
+        ensureLoaded();
+        orderBook.ordersFor(investmentCcy, counterCcy).forEach(consumer);
+    }
+
+    @Override
+    public void loadOrders(OrderStore store) throws Exception {
+        ensureLoaded();
+        orderBook.forEach(store);
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> getAllOrdersAsync() {
+        if (loaded) {
+            return CompletableFuture.completedFuture(orderBook.snapshot());
+        }
+        return VirtualThreads.supplyAsync(this::getAllOrders);
+    }
+
+    /**
+     * @return The local replica, for pair-indexed lookups
+     */
+    public OrderBook getOrderBook() {
+        return orderBook;
+    }
+
+    /**
+     * Streams a full listing from the service and applies the differences to the replica.
+     *
+     * @return Counts of the changes that were applied
+     * @throws Exception If the listing could not be retrieved
+     */
+    public OrderBook.ReconcileResult reconcile() throws Exception {
+        synchronized (reconcileLock) {
+            OrderBook.Reconciliation reconciliation = orderBook.startReconciliation();
+            delegate.streamOrders(reconciliation);
+            OrderBook.ReconcileResult result = reconciliation.finish();
+            loaded = true;
+            return result;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void ensureLoaded() throws Exception {
+        if (!loaded) {
+            synchronized (reconcileLock) {
+                if (!loaded) {
+                    reconcile();
+                }
+            }
+        }
+    }
+
+    private void reconcileIfLoaded() {
+        if (!loaded) {
+            return;
+        }
+
+        try {
+            OrderBook.ReconcileResult result = reconcile();
+            log.debug("Order book reconciled: {}", result);
+        } catch (Exception e) {
+            log.warn("Order book reconciliation failed", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.pm.service;
+
+import com.pm.metrics.EndpointMetrics;
+import com.pm.metrics.HttpRequestEvent;
+import com.pm.metrics.MetricsRegistry;
+
+import java.net.http.HttpRequest;
+
+/**
+ * Instrumentation for one request: feeds the endpoint's metrics and emits an {@link HttpRequestEvent}.
+ * <p>
+ * A trace is started before the request is sent, marked {@link #responded} when the status line arrives,
+ * optionally {@link #failed}, and {@link #finish finished} exactly once when the body has been consumed or
+ * the request has given up.
+ */
+final class RequestTrace {
+    private final EndpointMetrics endpoint;
+    private final HttpRequestEvent event = new HttpRequestEvent();
+    private final long startNanos;
+    private long respondedNanos;
+    private boolean responded;
+    private boolean failed;
+
+    RequestTrace(MetricsRegistry metrics, HttpRequest request) {
+        String path = request.uri().getPath();
+        long requestBytes = Math.max(0, request.bodyPublisher()
+                .map(HttpRequest.BodyPublisher::contentLength)
+                .orElse(0L));
+
+        endpoint = metrics.endpoint(path);
+        endpoint.getRequests().increment();
+        endpoint.getBytesSent().add(requestBytes);
+
+        event.endpoint = path;
+        event.method = request.method();
+        event.requestBytes = requestBytes;
+        event.begin();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Records the network time up to the arrival of the response.
+     *
+     * @param status The HTTP status code
+     */
+    void responded(int status) {
+        respondedNanos = System.nanoTime();
+        responded = true;
+        endpoint.getLatency().recordNanos(respondedNanos - startNanos);
+        event.status = status;
+    }
+
+    /**
+     * @param error Why the request or the decoding of its response failed
+     */
+    void failed(Throwable error) {
+        if (!failed) {
+            failed = true;
+            endpoint.getErrors().increment();
+            event.failure = String.valueOf(error.getMessage());
+        }
+    }
+
+    /**
+     * Records the decode time and response size and commits the event.
+     *
+     * @param responseBytes Size of the response body that was read
+     */
+    void finish(long responseBytes) {
+        long now = System.nanoTime();
+        if (responded) {
+            endpoint.getDecode().recordNanos(now - respondedNanos);
+            event.decodeTime = now - respondedNanos;
+        } else {
+            endpoint.getLatency().recordNanos(now - startNanos);
+        }
+        endpoint.getBytesReceived().add(responseBytes);
+        event.responseBytes = responseBytes;
+        event.commit();
+    }
+}
@@ -0,0 +1,87 @@
+package com.pm.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounds the number of asynchronous requests in flight.
+ * <p>
+ * A request is started once a permit is free, and its permit is released after its completion callback has
+ * run. A request that throws instead of returning a future is reported to the callback as failed and
+ * releases its permit at once, so {@link #awaitAll()} never waits for a request that was never started.
+ */
+final class RequestWindow {
+    private final int size;
+    private final Semaphore permits;
+
+    /**
+     * @param size Maximum number of requests in flight
+     */
+    RequestWindow(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than zero");
+        }
+        this.size = size;
+        this.permits = new Semaphore(size);
+    }
+
+    /**
+     * Starts a request, first waiting while the window is full.
+     *
+     * @param request Starts the request
+     * @param onComplete Receives the result or the failure, on the thread that completed the request
+     * @param <T> The result type
+     * @throws InterruptedException if interrupted while waiting for a permit
+     */
+    <T> void submit(Supplier<CompletableFuture<T>> request, BiConsumer<T, Throwable> onComplete)
+            throws InterruptedException {
+        permits.acquire();
+        start(request, onComplete);
+    }
+
+    /**
+     * Starts a request like {@link #submit}, waiting for a permit without reacting to interrupts.
+     *
+     * @param request Starts the request
+     * @param onComplete Receives the result or the failure, on the thread that completed the request
+     * @param <T> The result type
+     */
+    <T> void submitUninterruptibly(Supplier<CompletableFuture<T>> request, BiConsumer<T, Throwable> onComplete) {
+        permits.acquireUninterruptibly();
+        start(request, onComplete);
+    }
+
+    /**
+     * Waits until every request started so far has completed and its callback has run.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitAll() throws InterruptedException {
+        // Every completed request has released its permit, so holding all of them means none are left
+        permits.acquire(size);
+        permits.release(size);
+    }
+
+    private <T> void start(Supplier<CompletableFuture<T>> request, BiConsumer<T, Throwable> onComplete) {
+        CompletableFuture<T> future;
+        try {
+            future = request.get();
+        } catch (RuntimeException e) {
+            try {
+                onComplete.accept(null, e);
+            } finally {
+                permits.release();
+            }
+            return;
+        }
+        future.whenComplete((result, error) -> {
+            try {
+                onComplete.accept(result, error);
+            } finally {
+                permits.release();
+            }
+        });
+    }
+}
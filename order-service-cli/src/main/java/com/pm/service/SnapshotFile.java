@@ -0,0 +1,187 @@
+package com.pm.service;
+
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Compact binary file holding the last rate snapshot and order book seen by the client.
+ * <p>
+ * The layout is a header (magic, format version, save time in epoch milliseconds), the rates as
+ * {@code base, quote, bid, ask} records and the orders as {@code pair, side, limit, expiry day, ID} records,
+ * with currencies stored as ordinals and IDs as length-prefixed UTF-8. The file is read into memory in one go,
+ * since every record is copied out anyway, and written to a temporary file first and moved into place, so
+ * readers never see a half-written snapshot and no open mapping keeps the file from being replaced.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x46585331; // "FXS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int RATE_BYTES = 2 + Double.BYTES * 2;
+    private static final int ORDER_BYTES = Short.BYTES + 1 + Double.BYTES + Integer.BYTES + Short.BYTES;
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Returns the snapshot file for a service in the user's cache directory: {@code $XDG_CACHE_HOME},
+     * {@code ~/Library/Caches} on macOS, {@code %LOCALAPPDATA%} on Windows and {@code ~/.cache} otherwise.
+     *
+     * @param baseUrl The service the snapshot was taken from, so each service gets its own file
+     * @return The path of the snapshot file, which may not exist yet
+     */
+    public static Path defaultPath(String baseUrl) {
+        String os = System.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+        Path home = Path.of(System.getProperty("user.home"));
+        Path cacheDir;
+        if (System.getenv("XDG_CACHE_HOME") != null) {
+            cacheDir = Path.of(System.getenv("XDG_CACHE_HOME"));
+        } else if (os.contains("mac")) {
+            cacheDir = home.resolve("Library").resolve("Caches");
+        } else if (os.contains("win") && System.getenv("LOCALAPPDATA") != null) {
+            cacheDir = Path.of(System.getenv("LOCALAPPDATA"));
+        } else {
+            cacheDir = home.resolve(".cache");
+        }
+        return cacheDir.resolve("fx-orderbook-cli")
+                .resolve("snapshot-" + Integer.toHexString(baseUrl.hashCode()) + ".bin");
+    }
+
+    /**
+     * Writes a snapshot, replacing any previous one.
+     *
+     * @param file The file to write
+     * @param savedAt When the data was fetched
+     * @param rates The rate snapshot
+     * @param orders The order book
+     * @throws IOException If the file could not be written
+     */
+    public static void write(Path file, Instant savedAt, List<FXRate> rates, OrderStore orders) throws IOException {
+        byte[][] ids = new byte[orders.size()][];
+        int size = HEADER_BYTES + Integer.BYTES * 2 + rates.size() * RATE_BYTES + orders.size() * ORDER_BYTES;
+        for (int row = 0; row < orders.size(); row++) {
+            ids[row] = orders.id(row).getBytes(StandardCharsets.UTF_8);
+            size += ids[row].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(savedAt.toEpochMilli());
+        buffer.putInt(rates.size());
+        for (FXRate rate : rates) {
+            buffer.put((byte) rate.getCcyPair().getCcy1().ordinal())
+                    .put((byte) rate.getCcyPair().getCcy2().ordinal())
+                    .putDouble(rate.getBid())
+                    .putDouble(rate.getAsk());
+        }
+        buffer.putInt(orders.size());
+        for (int row = 0; row < orders.size(); row++) {
+            buffer.putShort((short) orders.pairId(row))
+                    .put((byte) (orders.isBuy(row) ? 1 : 0))
+                    .putDouble(orders.limit(row))
+                    .putInt(orders.validUntilEpochDay(row))
+                    .putShort((short) ids[row].length)
+                    .put(ids[row]);
+        }
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads a snapshot, loading the whole file into a heap buffer.
+     *
+     * @param file The file to read
+     * @return The snapshot, or empty if the file does not exist
+     * @throws IOException If the file could not be read or is not a valid snapshot
+     */
+    public static Optional<Snapshot> read(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot file too large: " + file);
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a snapshot file: " + file);
+            }
+            Instant savedAt = Instant.ofEpochMilli(buffer.getLong());
+
+            Currency[] currencies = Currency.values();
+            int rateCount = buffer.getInt();
+            List<FXRate> rates = new ArrayList<>(rateCount);
+            for (int i = 0; i < rateCount; i++) {
+                CurrencyPair pair = new CurrencyPair(currencies[buffer.get()], currencies[buffer.get()]);
+                rates.add(new FXRate(pair, buffer.getDouble(), buffer.getDouble()));
+            }
+
+            int orderCount = buffer.getInt();
+            OrderStore orders = new OrderStore(orderCount);
+            byte[] id = new byte[Short.MAX_VALUE];
+            for (int i = 0; i < orderCount; i++) {
+                int pairId = buffer.getShort();
+                boolean buy = buffer.get() != 0;
+                double limit = buffer.getDouble();
+                int validUntil = buffer.getInt();
+                int idLength = buffer.getShort();
+                buffer.get(id, 0, idLength);
+                if (pairId < 0 || pairId >= RateTable.CURRENCIES * RateTable.CURRENCIES) {
+                    throw new IOException("Corrupt snapshot file: " + file);
+                }
+                orders.add(new String(id, 0, idLength, StandardCharsets.UTF_8), buy, pairId, limit, validUntil);
+            }
+            return Optional.of(new Snapshot(savedAt, rates, orders));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Corrupt snapshot file: " + file, e);
+        }
+    }
+
+    /**
+     * Contents of a snapshot file.
+     *
+     * @param savedAt When the data was fetched from the service
+     * @param rates The rate snapshot
+     * @param orders The order book
+     */
+    public record Snapshot(Instant savedAt, List<FXRate> rates, OrderStore orders) {
+    }
+}
@@ -0,0 +1,205 @@
+package com.pm.service;
+
+import com.pm.models.Currency;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * {@link OrderService} decorator that serves reads from the snapshot file of the previous session until the
+ * service has answered once.
+ * <p>
+ * {@link #start()} reads the {@link SnapshotFile} and starts a background refresh of the rates and the order
+ * book. Until that refresh succeeds, rate and order reads are answered from the snapshot, each with a notice
+ * on standard error giving its age; a failed refresh is retried by the next read. Once the refresh succeeds
+ * the snapshot file is rewritten and every call goes to the service. {@link #close()} saves the state the
+ * service last returned, so the next session starts from it.
+ */
+@Slf4j
+public class SnapshotOrderService extends ForwardingOrderService implements AutoCloseable {
+    private final Path file;
+    private final Clock clock;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile SnapshotFile.Snapshot snapshot;
+    private volatile boolean live;
+
+    /**
+     * @param delegate The service to refresh from
+     * @param file The snapshot file to load and save
+     */
+    public SnapshotOrderService(OrderService delegate, Path file) {
+        this(delegate, file, Clock.systemUTC());
+    }
+
+    /**
+     * @param delegate The service to refresh from
+     * @param file The snapshot file to load and save
+     * @param clock The clock that stamps saved snapshots and ages loaded ones
+     */
+    public SnapshotOrderService(OrderService delegate, Path file, Clock clock) {
+        super(delegate);
+        this.file = file;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the snapshot file, if there is a usable one, and starts refreshing from the service.
+     *
+     * @return {@code true} if a snapshot was loaded and reads are answered from it until the refresh completes
+     */
+    public boolean start() {
+        try {
+            snapshot = SnapshotFile.read(file).orElse(null);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable snapshot file {}", file, e);
+        }
+        refreshInBackground();
+        return snapshot != null;
+    }
+
+    /**
+     * @return A future completed once the service has answered and the snapshot file was rewritten
+     */
+    public CompletableFuture<Void> refresh() {
+        return VirtualThreads.supplyAsync(() -> {
+            save();
+            live = true;
+            snapshot = null;
+            return null;
+        });
+    }
+
+    @Override
+    public List<FXRate> getExchangeRates() throws Exception {
+        SnapshotFile.Snapshot cached = cachedSnapshot();
+        return cached != null ? cached.rates() : delegate.getExchangeRates();
+    }
+
+    @Override
+    public List<Order> getAllOrders() throws Exception {
+        SnapshotFile.Snapshot cached = cachedSnapshot();
+        if (cached == null) {
+            return delegate.getAllOrders();
+        }
+        List<Order> orders = new ArrayList<>(cached.orders().size());
+        for (int row = 0; row < cached.orders().size(); row++) {
+            orders.add(cached.orders().toOrder(row));
+        }
+        return orders;
+    }
+
+    @Override
+    public void streamOrders(Consumer<Order> consumer) throws Exception {
+        SnapshotFile.Snapshot cached = cachedSnapshot();
+        if (cached == null) {
+            delegate.streamOrders(consumer);
+            return;
+        }
+        for (int row = 0; row < cached.orders().size(); row++) {
+            consumer.accept(cached.orders().toOrder(row));
+        }
+    }
+
+    @Override
+    public void streamOrders(Currency investmentCcy, Currency counterCcy, Consumer<Order> consumer) throws Exception {
+        SnapshotFile.Snapshot cached = cachedSnapshot();
+        if (cached == null) {
+            delegate.streamOrders(investmentCcy, counterCcy, consumer);
+            return;
+        }
+        int pairId = RateTable.index(investmentCcy, counterCcy);
+        for (int row = 0; row < cached.orders().size(); row++) {
+            if (cached.orders().pairId(row) == pairId) {
+                consumer.accept(cached.orders().toOrder(row));
+            }
+        }
+    }
+
+    @Override
+    public void loadOrders(OrderStore store) throws Exception {
+        SnapshotFile.Snapshot cached = cachedSnapshot();
+        if (cached == null) {
+            delegate.loadOrders(store);
+            return;
+        }
+        OrderStore orders = cached.orders();
+        for (int row = 0; row < orders.size(); row++) {
+            store.add(orders.id(row), orders.isBuy(row), orders.pairId(row), orders.limit(row),
+                    orders.validUntilEpochDay(row));
+        }
+    }
+
+    /**
+     * Saves the state the service last returned, if it answered during this session.
+     */
+    @Override
+    public void close() {
+        if (!live) {
+            return;
+        }
+        try {
+            save();
+        } catch (Exception e) {
+            log.warn("Could not save snapshot file {}", file, e);
+        }
+    }
+
+    private void save() throws Exception {
+        List<FXRate> rates = delegate.getExchangeRates();
+        OrderStore orders = new OrderStore();
+        delegate.loadOrders(orders);
+        SnapshotFile.write(file, clock.instant(), rates, orders);
+    }
+
+    /**
+     * @return The snapshot to answer from, after printing its age, or {@code null} to ask the service
+     */
+    private SnapshotFile.Snapshot cachedSnapshot() {
+        SnapshotFile.Snapshot cached = snapshot;
+        if (live || cached == null) {
+            return null;
+        }
+        refreshInBackground();
+        System.err.println("(Saved snapshot from " + formatAge(Duration.between(cached.savedAt(), clock.instant()))
+                + " ago, refreshing from the service in the background)");
+        return cached;
+    }
+
+    private void refreshInBackground() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        refresh().whenComplete((ignored, error) -> {
+            refreshing.set(false);
+            if (error != null) {
+                log.warn("Snapshot refresh failed", error);
+            }
+        });
+    }
+
+    private static String formatAge(Duration age) {
+        long seconds = Math.max(age.toSeconds(), 0);
+        if (seconds < 60) {
+            return seconds + " s";
+        }
+        if (seconds < 3600) {
+            return seconds / 60 + " min";
+        }
+        if (seconds < 86_400) {
+            return seconds / 3600 + " h";
+        }
+        return seconds / 86_400 + " d";
+    }
+}
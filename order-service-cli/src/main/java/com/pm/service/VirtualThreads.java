@@ -0,0 +1,46 @@
+package com.pm.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared virtual-thread executor used by the asynchronous service API.
+ * Every task gets its own virtual thread, so blocking I/O inside a task does not pin a platform thread.
+ */
+public final class VirtualThreads {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Returns the process-wide virtual-thread-per-task executor.
+     *
+     * @return The shared executor
+     */
+    public static ExecutorService executor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Runs a blocking call on a new virtual thread.
+     *
+     * @param call The call to run
+     * @param <T> The result type
+     * @return A future completed with the call result, or exceptionally with the thrown exception
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Callable<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+}
@@ -0,0 +1,95 @@
+import com.pm.commands.BatchCommand;
+import com.pm.models.Order;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class BatchCommandTest {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    @Mock
+    private OrderService orderService;
+
+    @TempDir
+    Path tempDir;
+
+    private BatchCommand command;
+    private String validity;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        command = new BatchCommand(orderService);
+        validity = LocalDate.now().plusDays(30).format(DATE_FORMATTER);
+        when(orderService.createOrderAsync(any(Order.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+    }
+
+    @Test
+    void execute_WithMixedSyntax_ShouldSubmitEveryValidLine() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("orders.txt"), String.join("\n",
+                "# comment",
+                "new buy EUR USD 1.10 " + validity,
+                "sell,USD,JPY,150.5," + validity,
+                "",
+                "new buy EUR XYZ 1.10 " + validity));
+
+        assertDoesNotThrow(() -> command.execute(new String[]{"batch", file.toString(), "--window", "2"}));
+
+        verify(orderService, times(2)).createOrderAsync(any(Order.class));
+    }
+
+    @Test
+    void execute_WhenCreateFails_ShouldReportAndContinue() throws Exception {
+        when(orderService.createOrderAsync(any(Order.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service error")))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+        Path file = Files.writeString(tempDir.resolve("orders.csv"), String.join("\n",
+                "buy,EUR,USD,1.10," + validity,
+                "buy,EUR,GBP,0.85," + validity));
+
+        assertDoesNotThrow(() -> command.execute(new String[]{"batch", file.toString()}));
+
+        verify(orderService, times(2)).createOrderAsync(any(Order.class));
+    }
+
+    @Test
+    void execute_WhenCreateThrowsSynchronously_ShouldReportFailureAndNotHang() throws Exception {
+        when(orderService.createOrderAsync(any(Order.class))).thenThrow(new IllegalStateException("Client closed"));
+        Path file = Files.writeString(tempDir.resolve("orders.csv"), String.join("\n",
+                "buy,EUR,USD,1.10," + validity,
+                "buy,EUR,GBP,0.85," + validity));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> command.execute(new String[]{"batch", file.toString(), "--window", "1"}));
+
+        verify(orderService, times(2)).createOrderAsync(any(Order.class));
+    }
+
+    @Test
+    void execute_WithMissingFile_ShouldThrowException() {
+        String[] args = {"batch", tempDir.resolve("missing.csv").toString()};
+        assertThrows(IllegalArgumentException.class, () -> command.execute(args));
+    }
+
+    @Test
+    void execute_WithInvalidArgs_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"batch"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"batch", "orders.csv", "--window", "0"}));
+    }
+}
@@ -0,0 +1,118 @@
+import com.pm.CLI;
+import com.pm.models.Order;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CLIScriptTest {
+    private static final String BASE_URL = "http://localhost:8888";
+
+    @Mock
+    private OrderService orderService;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private PrintStream stdout;
+    private PrintStream stderr;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stdout = System.out;
+        stderr = System.err;
+        System.setOut(new PrintStream(output));
+        System.setErr(new PrintStream(errors));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setOut(stdout);
+        System.setErr(stderr);
+    }
+
+    @Test
+    void runScript_ShouldPipelineCreatesAndPrintResultsInInputOrder() throws Exception {
+        CompletableFuture<Order> slow = new CompletableFuture<>();
+        AtomicInteger ids = new AtomicInteger();
+        when(orderService.createOrderAsync(any())).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            Order created = new Order(Integer.toString(ids.incrementAndGet()), order.getInvestmentCcy(), order.isBuy(),
+                    order.getCounterCcy(), order.getLimit(), order.getValidUntil());
+            if (created.getId().equals("1")) {
+                // The first create completes only once the second one has been sent
+                return slow.thenApply(ignored -> created);
+            }
+            slow.complete(null);
+            return CompletableFuture.completedFuture(created);
+        });
+        when(orderService.cancelOrderAsync("7")).thenReturn(CompletableFuture.completedFuture(false));
+
+        int status = new CLI(orderService, BASE_URL).runScript(script(
+                "# nightly orders",
+                "new buy EUR USD 1.10 31.12.2099",
+                "",
+                "new sell EUR USD 1.20 31.12.2099",
+                "cancel 7"), 4);
+
+        assertEquals(0, status);
+        assertEquals(List.of("Order created: 1", "Order created: 2", "Order 7 not found"),
+                output.toString().lines().toList());
+        verify(orderService, never()).createOrder(any());
+    }
+
+    @Test
+    void runScript_WithFailures_ShouldReportLineNumbersAndReturnNonZero() throws Exception {
+        when(orderService.cancelOrderAsync("5"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service unavailable")));
+        when(orderService.getExchangeRates()).thenReturn(List.of());
+
+        int status = new CLI(orderService, BASE_URL).runScript(script(
+                "cancel 5",
+                "new buy EUR XXX 1.10 31.12.2099",
+                "rates",
+                "bogus"), 2);
+
+        assertEquals(1, status);
+        String errorText = errors.toString();
+        assertTrue(errorText.contains("Line 1: Command failed: Failed to cancel order: Service unavailable"), errorText);
+        assertTrue(errorText.contains("Line 2: Command failed: Invalid currency: XXX"), errorText);
+        assertTrue(errorText.contains("Line 4: Unknown command: bogus"), errorText);
+        assertTrue(output.toString().contains("No exchange rates available"));
+    }
+
+    @Test
+    void runScript_WithWatchWithoutDuration_ShouldFailTheLineAndKeepReadingTheScript() throws Exception {
+        when(orderService.cancelOrderAsync("7")).thenReturn(CompletableFuture.completedFuture(true));
+
+        int status = new CLI(orderService, BASE_URL).runScript(script(
+                "rates --watch",
+                "monitor",
+                "cancel 7"), 2);
+
+        assertEquals(1, status);
+        String errorText = errors.toString();
+        assertTrue(errorText.contains("Line 1: Command failed: --duration is required"), errorText);
+        assertTrue(errorText.contains("Line 2: Command failed: --duration is required"), errorText);
+        assertEquals(List.of("Order 7 cancelled successfully"), output.toString().lines().toList());
+        verify(orderService, never()).getExchangeRatesAsync();
+    }
+
+    private static BufferedReader script(String... lines) {
+        return new BufferedReader(new StringReader(String.join("\n", lines)));
+    }
+}
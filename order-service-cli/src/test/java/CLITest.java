@@ -0,0 +1,74 @@
+import com.pm.CLI;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CLITest {
+    private static final String BASE_URL = "http://localhost:8888";
+
+    @Mock
+    private OrderService orderService;
+
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private InputStream stdin;
+    private PrintStream stdout;
+    private PrintStream stderr;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        stdin = System.in;
+        stdout = System.out;
+        stderr = System.err;
+        System.setOut(new PrintStream(output));
+        System.setErr(new PrintStream(errors));
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setIn(stdin);
+        System.setOut(stdout);
+        System.setErr(stderr);
+    }
+
+    @Test
+    void start_WithoutFastStart_ShouldQuitWhenServiceIsUnreachable() throws Exception {
+        when(orderService.getExchangeRates()).thenThrow(new RuntimeException("Connection refused"));
+        System.setIn(input("help"));
+
+        new CLI(orderService, BASE_URL).start(false);
+
+        assertTrue(errors.toString().contains("Could not connect to the Order Service"));
+        assertFalse(output.toString().contains("Available commands"));
+    }
+
+    @Test
+    void start_WithFastStart_ShouldAcceptCommandsAndCheckConnectionInBackground() throws Exception {
+        when(orderService.getExchangeRates()).thenReturn(List.of());
+        System.setIn(input("help", "exit"));
+
+        new CLI(orderService, BASE_URL).start(true);
+
+        assertTrue(output.toString().contains("Available commands"), output.toString());
+        verify(orderService, timeout(1000)).getExchangeRates();
+        assertFalse(errors.toString().contains("Could not connect"));
+    }
+
+    private static InputStream input(String... lines) {
+        return new ByteArrayInputStream((String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.service.CachingOrderService;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingOrderServiceTest {
+    @Mock
+    private OrderService orderService;
+
+    private AtomicLong clock;
+    private CachingOrderService cachingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new AtomicLong();
+        cachingService = new CachingOrderService(orderService,
+                Duration.ofSeconds(1), Duration.ofSeconds(10), clock::get);
+    }
+
+    @Test
+    void getExchangeRates_WithinTtl_ShouldServeFromCache() throws Exception {
+        when(orderService.getExchangeRates()).thenReturn(List.of(rate(1.10)));
+
+        cachingService.getExchangeRates();
+        clock.addAndGet(Duration.ofMillis(500).toNanos());
+        List<FXRate> rates = cachingService.getExchangeRates();
+
+        assertEquals(1.10, rates.get(0).getBid());
+        verify(orderService, times(1)).getExchangeRates();
+        assertEquals(1, cachingService.getMissCount());
+        assertEquals(1, cachingService.getHitCount());
+    }
+
+    @Test
+    void getExchangeRates_WhenStale_ShouldServeStaleAndRefreshInBackground() throws Exception {
+        when(orderService.getExchangeRates()).thenReturn(List.of(rate(1.10)));
+        when(orderService.getExchangeRatesAsync()).thenReturn(CompletableFuture.completedFuture(List.of(rate(1.20))));
+
+        cachingService.getExchangeRates();
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertEquals(1.10, cachingService.getExchangeRates().get(0).getBid());
+        assertEquals(1.20, cachingService.getExchangeRates().get(0).getBid());
+        verify(orderService, times(1)).getExchangeRatesAsync();
+        assertEquals(1, cachingService.getStaleHitCount());
+    }
+
+    @Test
+    void getExchangeRates_WhenRefreshThrowsSynchronously_ShouldRetryOnNextStaleRead() throws Exception {
+        when(orderService.getExchangeRates()).thenReturn(List.of(rate(1.10)));
+        when(orderService.getExchangeRatesAsync())
+                .thenThrow(new IllegalArgumentException("Illegal character in authority"))
+                .thenReturn(CompletableFuture.completedFuture(List.of(rate(1.20))));
+
+        cachingService.getExchangeRates();
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        assertEquals(1.10, cachingService.getExchangeRates().get(0).getBid());
+        assertEquals(1.10, cachingService.getExchangeRates().get(0).getBid());
+        assertEquals(1.20, cachingService.getExchangeRates().get(0).getBid());
+        verify(orderService, times(2)).getExchangeRatesAsync();
+    }
+
+    @Test
+    void getExchangeRates_PastMaxStale_ShouldFetchSynchronously() throws Exception {
+        when(orderService.getExchangeRates()).thenReturn(List.of(rate(1.10)), List.of(rate(1.30)));
+
+        cachingService.getExchangeRates();
+        clock.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        assertEquals(1.30, cachingService.getExchangeRates().get(0).getBid());
+        verify(orderService, never()).getExchangeRatesAsync();
+        assertEquals(2, cachingService.getMissCount());
+    }
+
+    private FXRate rate(double bid) {
+        return new FXRate(new CurrencyPair(Currency.EUR, Currency.USD), bid, bid + 0.0001);
+    }
+}
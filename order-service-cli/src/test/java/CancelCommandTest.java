@@ -10,6 +10,8 @@ import org.mockito.MockitoAnnotations;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -74,6 +76,21 @@ class CancelCommandTest {
         assertTrue(exception.getMessage().contains("Failed to cancel order"));
     }
 
+    @Test
+    void executeAsync_ShouldReportLikeExecute() {
+        when(orderService.cancelOrderAsync("1")).thenReturn(CompletableFuture.completedFuture(true));
+        when(orderService.cancelOrderAsync("2")).thenReturn(CompletableFuture.completedFuture(false));
+        when(orderService.cancelOrderAsync("3")).thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service error")));
+
+        assertEquals("Order 1 cancelled successfully", command.executeAsync(new String[]{"cancel", "1"}).join());
+        assertEquals("Order 2 not found", command.executeAsync(new String[]{"cancel", "2"}).join());
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> command.executeAsync(new String[]{"cancel", "3"}).join());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+        assertEquals("Failed to cancel order: Service error", failure.getCause().getMessage());
+        assertThrows(CompletionException.class, () -> command.executeAsync(new String[]{"cancel"}).join());
+    }
+
     private Order createOrder(String id) {
         Order order = new Order();
         order.setId(id);
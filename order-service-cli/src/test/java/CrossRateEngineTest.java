@@ -0,0 +1,74 @@
+import com.pm.models.CrossRateEngine;
+import com.pm.models.Currency;
+import com.pm.models.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrossRateEngineTest {
+    private static final int GBPJPY = RateTable.index(Currency.GBP, Currency.JPY);
+    private static final int JPYGBP = RateTable.index(Currency.JPY, Currency.GBP);
+
+    @Test
+    void update_ShouldTriangulateUnquotedPairsAlongTheShortestRoute() {
+        CrossRateEngine engine = new CrossRateEngine();
+        engine.update(snapshot(150.0));
+        RateTable rates = engine.table();
+
+        // GBP -> EUR is the inverse of EUR/GBP, then EUR/USD and USD/JPY
+        double bid = (1 / 0.86) * 1.10 * 150.0;
+        double ask = (1 / 0.85) * 1.11 * 150.5;
+        assertEquals(bid, rates.bid(GBPJPY), 1e-9);
+        assertEquals(ask, rates.ask(GBPJPY), 1e-9);
+        assertEquals(1 / ask, rates.bid(JPYGBP), 1e-12);
+        assertEquals(List.of(Currency.EUR, Currency.USD), engine.via(GBPJPY));
+        assertEquals(List.of(Currency.USD, Currency.EUR), engine.via(JPYGBP));
+        assertEquals(List.of(), engine.via(RateTable.index(Currency.USD, Currency.EUR)));
+        assertFalse(rates.has(RateTable.index(Currency.EUR, Currency.EUR)));
+    }
+
+    @Test
+    void update_WithOneMovedLeg_ShouldOnlyReportPairsDependingOnIt() {
+        CrossRateEngine engine = new CrossRateEngine();
+        engine.update(snapshot(150.0));
+
+        int[] changed = engine.update(snapshot(151.0));
+
+        assertTrue(contains(changed, RateTable.index(Currency.USD, Currency.JPY)));
+        assertTrue(contains(changed, RateTable.index(Currency.JPY, Currency.USD)));
+        assertTrue(contains(changed, GBPJPY));
+        assertTrue(contains(changed, JPYGBP));
+        assertFalse(contains(changed, RateTable.index(Currency.EUR, Currency.GBP)));
+        assertFalse(contains(changed, RateTable.index(Currency.GBP, Currency.SEK)));
+        assertEquals((1 / 0.86) * 1.10 * 151.0, engine.table().bid(GBPJPY), 1e-9);
+        assertEquals(0, engine.update(snapshot(151.0)).length);
+    }
+
+    @Test
+    void complete_WithDisconnectedCurrency_ShouldLeaveItUnknown() {
+        RateTable snapshot = new RateTable();
+        snapshot.put(Currency.EUR, Currency.USD, 1.10, 1.11);
+
+        RateTable rates = CrossRateEngine.complete(snapshot);
+
+        assertTrue(rates.has(RateTable.index(Currency.USD, Currency.EUR)));
+        assertFalse(rates.has(GBPJPY));
+        assertTrue(Double.isNaN(rates.ask(GBPJPY)));
+    }
+
+    private static RateTable snapshot(double usdJpyBid) {
+        RateTable snapshot = new RateTable();
+        snapshot.put(Currency.EUR, Currency.USD, 1.10, 1.11);
+        snapshot.put(Currency.EUR, Currency.GBP, 0.85, 0.86);
+        snapshot.put(Currency.EUR, Currency.SEK, 11.5, 11.6);
+        snapshot.put(Currency.USD, Currency.JPY, usdJpyBid, usdJpyBid + 0.5);
+        return snapshot;
+    }
+
+    private static boolean contains(int[] pairs, int pair) {
+        return Arrays.stream(pairs).anyMatch(p -> p == pair);
+    }
+}
@@ -0,0 +1,115 @@
+import com.pm.commands.ExpireCommand;
+import com.pm.models.Order;
+import com.pm.models.TimingWheel;
+import com.pm.service.OrderExpirer;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ExpireCommandTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private OrderService orderService;
+
+    private ExpireCommand command;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        List<Order> orders = List.of(
+                new Order("1", "EUR", true, "USD", 1.1, TODAY.minusDays(1)),
+                new Order("2", "EUR", false, "USD", 1.2, TODAY),
+                new Order("3", "GBP", true, "USD", 1.3, TODAY.minusDays(30)),
+                new Order("4", "GBP", true, "USD", 1.3, null));
+        doAnswer(invocation -> {
+            Consumer<Order> consumer = invocation.getArgument(0);
+            orders.forEach(consumer);
+            return null;
+        }).when(orderService).streamOrders(any());
+        when(orderService.cancelOrderAsync(anyString())).thenReturn(CompletableFuture.completedFuture(true));
+
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        command = new ExpireCommand(new OrderExpirer(orderService, 2, clock));
+    }
+
+    @Test
+    void execute_WithDryRun_ShouldNotCancelAnything() throws Exception {
+        command.execute(new String[]{"expire", "--dry-run"});
+
+        verify(orderService, never()).cancelOrderAsync(anyString());
+    }
+
+    @Test
+    void execute_ShouldCancelOnlyOrdersPastTheirValidityDateOnce() throws Exception {
+        command.execute(new String[]{"expire"});
+        command.execute(new String[]{"expire"});
+
+        verify(orderService).cancelOrderAsync("1");
+        verify(orderService).cancelOrderAsync("3");
+        verify(orderService, times(2)).cancelOrderAsync(anyString());
+    }
+
+    @Test
+    void execute_WithFailedCancel_ShouldRetryOnNextRun() throws Exception {
+        when(orderService.cancelOrderAsync("1"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service unavailable")))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        command.execute(new String[]{"expire"});
+        command.execute(new String[]{"expire"});
+
+        verify(orderService, times(2)).cancelOrderAsync("1");
+        verify(orderService, times(1)).cancelOrderAsync("3");
+    }
+
+    @Test
+    void expire_WhenCancelThrowsSynchronously_ShouldCountFailuresAndNotHang() throws Exception {
+        when(orderService.cancelOrderAsync(anyString())).thenThrow(new IllegalStateException("Client closed"));
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        OrderExpirer expirer = new OrderExpirer(orderService, 1, clock);
+
+        OrderExpirer.Result result = assertTimeoutPreemptively(Duration.ofSeconds(5), expirer::expire);
+
+        assertEquals(2, result.expired());
+        assertEquals(2, result.failed());
+        assertEquals("Client closed", result.errors().get("1").getMessage());
+        assertEquals(2, expirer.expiredOrders().size());
+    }
+
+    @Test
+    void timingWheel_ShouldFireKeysOnTheirDayAcrossLevels() {
+        int start = 20_000;
+        TimingWheel wheel = new TimingWheel(start);
+        int[] offsets = {1, 63, 64, 65, 4_095, 4_096, 70_000, 300_000};
+        for (int offset : offsets) {
+            wheel.schedule(Integer.toString(offset), start + offset);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (int offset : offsets) {
+            wheel.advanceTo(start + offset - 1, fired::add);
+            assertFalse(fired.contains(Integer.toString(offset)), "fired early: " + offset);
+            wheel.advanceTo(start + offset, fired::add);
+            assertEquals(Integer.toString(offset), fired.get(fired.size() - 1));
+        }
+        assertEquals(offsets.length, fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
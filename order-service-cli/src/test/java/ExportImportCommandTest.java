@@ -0,0 +1,134 @@
+import com.pm.commands.ExportCommand;
+import com.pm.commands.ImportCommand;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.service.OrderRecordFile;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ExportImportCommandTest {
+    private static final List<Order> BOOK = List.of(
+            new Order("1", "EUR", true, "USD", 1.10, LocalDate.of(2099, 12, 31)),
+            new Order("2", "USD", false, "JPY", 150.5, null),
+            new Order("12345678901234", "EUR", false, "GBP", 0.85, LocalDate.of(2030, 1, 1)));
+
+    @Mock
+    private OrderService source;
+
+    @Mock
+    private OrderService target;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            OrderStore store = invocation.getArgument(0);
+            BOOK.forEach(store);
+            return null;
+        }).when(source).loadOrders(any());
+        when(target.createOrderAsync(any(Order.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+    }
+
+    @Test
+    void export_ThenImport_ShouldCreateEveryOrderOfTheBook() throws Exception {
+        Path file = tempDir.resolve("book.bin");
+
+        new ExportCommand(source).execute(new String[]{"export", file.toString()});
+        new ImportCommand(target).execute(new String[]{"import", file.toString(), "--window", "2"});
+
+        assertEquals(16 + BOOK.size() * OrderRecordFile.RECORD_BYTES, Files.size(file));
+        ArgumentCaptor<Order> created = ArgumentCaptor.forClass(Order.class);
+        verify(target, times(BOOK.size())).createOrderAsync(created.capture());
+        assertEquals(BOOK.stream().map(order -> new Order(null, order.getInvestmentCcy(), order.isBuy(),
+                order.getCounterCcy(), order.getLimit(), order.getValidUntil())).toList(), created.getAllValues());
+    }
+
+    @Test
+    void import_WithoutExportFile_ShouldRejectIt() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("orders.csv"), "buy,EUR,USD,1.10,31.12.2099");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new ImportCommand(target).execute(new String[]{"import", file.toString()}));
+
+        assertTrue(exception.getMessage().contains("Not an order export file"));
+        verify(target, never()).createOrderAsync(any());
+    }
+
+    @Test
+    void export_WithTooLongId_ShouldLeaveExistingFileUntouched() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("book.bin"), "previous");
+        doAnswer(invocation -> {
+            OrderStore store = invocation.getArgument(0);
+            BOOK.forEach(store);
+            store.accept(new Order("12345678901234567", "EUR", true, "USD", 1.10, null));
+            return null;
+        }).when(source).loadOrders(any());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExportCommand(source).execute(new String[]{"export", file.toString()}));
+
+        assertEquals("previous", Files.readString(file));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void import_WithZeroFilledRecord_ShouldRejectIt() throws Exception {
+        Path file = tempDir.resolve("book.bin");
+        new ExportCommand(source).execute(new String[]{"export", file.toString()});
+        byte[] bytes = Files.readAllBytes(file);
+        Arrays.fill(bytes, 16 + OrderRecordFile.RECORD_BYTES, bytes.length, (byte) 0);
+        Files.write(file, bytes);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> new ImportCommand(target).execute(new String[]{"import", file.toString()}));
+
+        assertTrue(exception.getMessage().contains("Corrupt record 2"), exception.getMessage());
+        verify(target, times(1)).createOrderAsync(any());
+    }
+
+    @Test
+    void import_WhenCreateThrowsSynchronously_ShouldReportFailuresAndNotHang() throws Exception {
+        Path file = tempDir.resolve("book.bin");
+        new ExportCommand(source).execute(new String[]{"export", file.toString()});
+        when(target.createOrderAsync(any(Order.class))).thenThrow(new IllegalStateException("Client closed"));
+
+        ByteArrayOutputStream errors = new ByteArrayOutputStream();
+        PrintStream stderr = System.err;
+        System.setErr(new PrintStream(errors));
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> new ImportCommand(target).execute(new String[]{"import", file.toString(), "--window", "1"}));
+        } finally {
+            System.setErr(stderr);
+        }
+
+        verify(target, times(BOOK.size())).createOrderAsync(any());
+        assertTrue(errors.toString().contains("Order 12345678901234: failed to create order: Client closed"),
+                errors.toString());
+    }
+}
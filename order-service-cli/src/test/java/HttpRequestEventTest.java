@@ -0,0 +1,57 @@
+import com.pm.server.FaultProfile;
+import com.pm.server.StandInBook;
+import com.pm.server.StandInServer;
+import com.pm.server.SyntheticBook;
+import com.pm.service.HttpService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpRequestEventTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void httpService_ShouldEmitOneEventPerRequest() throws Exception {
+        Path dump = tempDir.resolve("requests.jfr");
+        FaultProfile halfFailing = new FaultProfile(Duration.ZERO, Duration.ZERO, 0.5, 42);
+
+        try (StandInServer server = new StandInServer(0, new StandInBook(SyntheticBook.rates()), halfFailing);
+             Recording recording = new Recording()) {
+            recording.enable("com.pm.HttpRequest");
+            recording.start();
+            server.start();
+
+            HttpService service = new HttpService(server.getBaseUrl());
+            for (int i = 0; i < 10; i++) {
+                try {
+                    service.getExchangeRates();
+                } catch (RuntimeException e) {
+                    // injected failure, still expected to produce an event
+                }
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(10, events.size());
+        for (RecordedEvent event : events) {
+            assertEquals("/rateSnapshot", event.getString("endpoint"));
+            assertEquals("GET", event.getString("method"));
+            int status = event.getInt("status");
+            assertTrue(status == 200 || status == 503);
+            assertEquals(status == 503, event.getString("failure") != null);
+            assertTrue(event.getLong("responseBytes") > 0);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.Order;
+import com.pm.models.OrderType;
+import com.pm.server.FaultProfile;
+import com.pm.server.StandInBook;
+import com.pm.server.StandInServer;
+import com.pm.server.SyntheticBook;
+import com.pm.service.HttpService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HttpServiceTest {
+    private StandInServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void asyncCalls_ShouldCreateRetrieveAndCancelOrders() throws Exception {
+        HttpService service = start(FaultProfile.NONE);
+
+        Order created = service.createOrderAsync(new Order(OrderType.BUY, Currency.EUR, Currency.USD, 1.1,
+                LocalDate.now().plusDays(3))).join();
+        assertEquals("1", created.getId());
+        assertEquals(LocalDate.now().plusDays(3), created.getValidUntil());
+
+        assertEquals(1, service.getAllOrdersAsync().join().size());
+        assertEquals(CurrencyPair.SUPPORTED.size(), service.getExchangeRatesAsync().join().size());
+        assertTrue(service.cancelOrderAsync("1").join());
+        assertFalse(service.cancelOrderAsync("1").join());
+        assertEquals(0, server.getBook().size());
+    }
+
+    @Test
+    void createOrderAsync_WithErrorStatus_ShouldFailLikeCreateOrder() throws Exception {
+        HttpService service = start(FaultProfile.NONE);
+        Order unsupported = new Order(OrderType.BUY, Currency.GBP, Currency.JPY, 190.0, LocalDate.now().plusDays(3));
+
+        RuntimeException blocking = assertThrows(RuntimeException.class, () -> service.createOrder(unsupported));
+        RuntimeException async = joinFailure(service.createOrderAsync(unsupported));
+
+        assertTrue(blocking.getMessage().startsWith("Failed to create order. Status: 400"), blocking.getMessage());
+        assertEquals(blocking.getClass(), async.getClass());
+        assertEquals(blocking.getMessage(), async.getMessage());
+        assertEquals(0, server.getBook().size());
+    }
+
+    @Test
+    void asyncCalls_WithErrorStatus_ShouldFailLikeBlockingCalls() throws Exception {
+        HttpService service = start(new FaultProfile(Duration.ZERO, Duration.ZERO, 1.0, 42));
+        String expected = "Failed to get exchange rates. Status: 503, Body: Injected failure for request ";
+
+        RuntimeException blocking = assertThrows(RuntimeException.class, service::getExchangeRates);
+        RuntimeException async = joinFailure(service.getExchangeRatesAsync());
+
+        assertEquals(blocking.getClass(), async.getClass());
+        assertEquals(expected + 0, blocking.getMessage());
+        assertEquals(expected + 1, async.getMessage());
+        assertTrue(joinFailure(service.cancelOrderAsync("1")).getMessage()
+                .startsWith("Failed to cancel order. Status: 503"));
+        assertTrue(joinFailure(service.getAllOrdersAsync()).getMessage()
+                .startsWith("Failed to get orders. Status: 503"));
+    }
+
+    private HttpService start(FaultProfile faults) throws Exception {
+        server = new StandInServer(0, new StandInBook(SyntheticBook.rates()), faults);
+        server.start();
+        return new HttpService(server.getBaseUrl());
+    }
+
+    private static RuntimeException joinFailure(CompletableFuture<?> future) {
+        CompletionException failure = assertThrows(CompletionException.class, future::join);
+        return assertInstanceOf(RuntimeException.class, failure.getCause());
+    }
+}
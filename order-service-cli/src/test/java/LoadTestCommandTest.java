@@ -0,0 +1,100 @@
+import com.pm.commands.LoadTestCommand;
+import com.pm.loadtest.LoadGenerator;
+import com.pm.loadtest.LoadProfile;
+import com.pm.loadtest.LoadReport;
+import com.pm.loadtest.Operation;
+import com.pm.models.Order;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LoadTestCommandTest {
+    @Mock
+    private OrderService orderService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(orderService.createOrderAsync(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            order.setId("1");
+            return CompletableFuture.completedFuture(order);
+        });
+        when(orderService.cancelOrderAsync(anyString())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("down")));
+        when(orderService.getExchangeRatesAsync()).thenReturn(CompletableFuture.completedFuture(List.of()));
+    }
+
+    @Test
+    void openLoop_ShouldIssueRequestsAtTheTargetRate() throws Exception {
+        LoadProfile profile = new LoadProfile(500, 8, Duration.ofSeconds(1), Duration.ZERO,
+                LoadProfile.parseMix("create=1,cancel=1,rates=2"), 1);
+
+        LoadReport report = new LoadGenerator(orderService, profile).run();
+
+        long total = report.total().getTotalCount();
+        assertTrue(total >= 490 && total <= 510, "requests: " + total);
+        assertEquals(report.operations().get(Operation.CANCEL).latencies().getTotalCount(), report.totalErrors());
+        assertEquals(0, report.operations().get(Operation.ORDERS).latencies().getTotalCount());
+        verify(orderService, never()).getAllOrdersAsync();
+    }
+
+    @Test
+    void closedLoop_ShouldMeasureOnlyAfterWarmup() throws Exception {
+        LoadProfile profile = new LoadProfile(0, 2, Duration.ofMillis(200), Duration.ofMillis(200),
+                Map.of(Operation.RATES, 1), 1);
+
+        LoadReport report = new LoadGenerator(orderService, profile).run();
+
+        long measured = report.total().getTotalCount();
+        assertTrue(measured > 0);
+        verify(orderService, atLeast((int) measured + 1)).getExchangeRatesAsync();
+    }
+
+    @Test
+    void execute_WithoutUrl_ShouldTestTheCliService() throws Exception {
+        when(orderService.getExchangeRatesAsync()).thenReturn(CompletableFuture.completedFuture(List.of()));
+        List<String> urls = new ArrayList<>();
+        LoadTestCommand command = new LoadTestCommand(url -> {
+            urls.add(url);
+            return orderService;
+        }, "http://fx.example:9000");
+
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            command.execute(new String[]{"loadtest", "--duration", "1", "--warmup", "0", "--mix", "rates=1",
+                    "--concurrency", "1"});
+            command.execute(new String[]{"loadtest", "--url", "http://other:8888", "--duration", "1", "--warmup", "0",
+                    "--mix", "rates=1", "--concurrency", "1"});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        assertEquals(List.of("http://fx.example:9000", "http://other:8888"), urls);
+    }
+
+    @Test
+    void execute_WithInvalidOptions_ShouldThrowException() {
+        LoadTestCommand command = new LoadTestCommand(url -> orderService, "http://localhost:8888");
+
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"loadtest", "--mix", "create=0"}));
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"loadtest", "--mix", "update=1"}));
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"loadtest", "--rate", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"loadtest", "--warmup", "-1"}));
+    }
+}
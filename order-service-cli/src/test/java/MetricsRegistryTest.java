@@ -0,0 +1,79 @@
+import com.pm.commands.StatsCommand;
+import com.pm.metrics.CommandMetrics;
+import com.pm.metrics.EndpointMetrics;
+import com.pm.metrics.MetricsRegistry;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.output.TableWriter;
+import com.pm.server.FaultProfile;
+import com.pm.server.StandInBook;
+import com.pm.server.StandInServer;
+import com.pm.server.SyntheticBook;
+import com.pm.service.HttpService;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsRegistryTest {
+    @Test
+    void httpService_ShouldRecordRequestsBytesAndErrorsPerEndpoint() throws Exception {
+        MetricsRegistry metrics = new MetricsRegistry();
+        StandInBook book = new StandInBook(SyntheticBook.rates());
+        book.preload(SyntheticBook.orders(100, 1, LocalDate.now()));
+
+        try (StandInServer server = new StandInServer(0, book, FaultProfile.NONE)) {
+            server.start();
+            HttpService service = new HttpService(server.getBaseUrl(), metrics);
+            service.getExchangeRates();
+            service.loadOrders(new OrderStore());
+            assertThrows(RuntimeException.class, () -> service.createOrderAsync(new Order()).join());
+        }
+
+        EndpointMetrics rates = metrics.endpoint("/rateSnapshot");
+        assertEquals(1, rates.getRequests().sum());
+        assertEquals(0, rates.getErrors().sum());
+        assertTrue(rates.getBytesReceived().sum() > 0);
+        assertEquals(1, rates.getLatency().snapshot().getTotalCount());
+        assertEquals(1, rates.getDecode().snapshot().getTotalCount());
+
+        assertTrue(metrics.endpoint("/retrieveOrders").getBytesReceived().sum() > 100 * 50);
+        assertEquals(1, metrics.endpoint("/createOrder").getErrors().sum());
+        assertTrue(metrics.endpoint("/createOrder").getBytesSent().sum() > 0);
+    }
+
+    @Test
+    void commandExecution_ShouldRecordTimeFailuresAndRenderedRows() {
+        MetricsRegistry metrics = MetricsRegistry.global();
+        try (MetricsRegistry.CommandExecution execution = metrics.startCommand("metrics-test")) {
+            try (TableWriter table = new TableWriter(new PrintStream(new ByteArrayOutputStream()),
+                    List.of(TableWriter.left("A", 1)))) {
+                table.text("x").endRow().text("y").endRow();
+            }
+            execution.succeeded();
+        }
+        try (MetricsRegistry.CommandExecution ignored = metrics.startCommand("metrics-test")) {
+            // fails without calling succeeded()
+        }
+
+        CommandMetrics command = metrics.command("metrics-test");
+        assertEquals(2, command.getExecutions().sum());
+        assertEquals(1, command.getFailures().sum());
+        assertEquals(2, command.getRows().sum());
+        assertEquals(2, command.getTime().snapshot().getTotalCount());
+
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(printed));
+        try {
+            new StatsCommand(metrics).execute(new String[]{"stats"});
+        } finally {
+            System.setOut(stdout);
+        }
+        assertTrue(printed.toString().contains("metrics-test"));
+    }
+}
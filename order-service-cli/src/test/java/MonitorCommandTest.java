@@ -0,0 +1,123 @@
+import com.pm.commands.MonitorCommand;
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.LimitTriggerIndex;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MonitorCommandTest {
+    private static final int EURUSD = RateTable.index(Currency.EUR, Currency.USD);
+    private static final int USDEUR = RateTable.index(Currency.USD, Currency.EUR);
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderStore store;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        store = new OrderStore();
+        store.add("1", true, EURUSD, 1.10, OrderStore.NO_EXPIRY);
+        store.add("2", true, EURUSD, 1.05, OrderStore.NO_EXPIRY);
+        store.add("3", false, EURUSD, 1.20, OrderStore.NO_EXPIRY);
+        store.add("4", false, EURUSD, 1.15, OrderStore.NO_EXPIRY);
+        store.add("5", true, USDEUR, 0.95, OrderStore.NO_EXPIRY);
+    }
+
+    @Test
+    void limitTriggerIndex_ShouldReportOnlyNewlyCrossedOrders() {
+        LimitTriggerIndex index = new LimitTriggerIndex(store);
+
+        assertEquals(List.of(), update(index, EURUSD, 1.08, 1.12));
+        assertEquals(List.of("1"), update(index, EURUSD, 1.08, 1.10));
+        assertEquals(List.of(), update(index, EURUSD, 1.08, 1.09));
+        assertEquals(List.of("2", "4", "3"), update(index, EURUSD, 1.25, 1.00));
+        assertEquals(4, index.triggeredCount(EURUSD));
+    }
+
+    @Test
+    void limitTriggerIndex_ShouldReportOrderAgainWhenMarketCrossesBack() {
+        LimitTriggerIndex index = new LimitTriggerIndex(store);
+
+        assertEquals(List.of("4"), update(index, EURUSD, 1.16, 1.30));
+        assertEquals(List.of(), update(index, EURUSD, 1.14, 1.30));
+        assertEquals(0, index.triggeredCount(EURUSD));
+        assertEquals(List.of("4"), update(index, EURUSD, 1.15, 1.30));
+        assertEquals(List.of(), update(index, EURUSD, Double.NaN, Double.NaN));
+        assertEquals(0, index.triggeredCount(EURUSD));
+    }
+
+    @Test
+    void execute_ShouldAlertOnOrdersCrossedByPolledRatesIncludingInversePairs() throws Exception {
+        doAnswer(invocation -> {
+            OrderStore target = invocation.getArgument(0);
+            for (int row = 0; row < store.size(); row++) {
+                target.add(store.id(row), store.isBuy(row), store.pairId(row), store.limit(row), OrderStore.NO_EXPIRY);
+            }
+            return null;
+        }).when(orderService).loadOrders(any());
+        when(orderService.getExchangeRatesAsync()).thenReturn(
+                CompletableFuture.completedFuture(List.of(new FXRate(new CurrencyPair(Currency.EUR, Currency.USD), 1.08, 1.12))),
+                CompletableFuture.completedFuture(List.of(new FXRate(new CurrencyPair(Currency.EUR, Currency.USD), 1.16, 1.17))));
+
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            new MonitorCommand(orderService, new BufferedReader(Reader.nullReader()))
+                    .execute(new String[]{"monitor", "--duration", "1", "--min-interval", "100", "--max-interval", "200"});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        String text = output.toString();
+        assertTrue(text.contains("Monitoring 5 orders"), text);
+        assertFalse(text.contains(" 1    buy"), text);
+        assertTrue(text.contains(" 4    sell"), text);
+        assertTrue(text.contains(" 5    buy"), text);
+        assertTrue(text.contains("Stopped monitoring: 2 alerts"), text);
+        verify(orderService, never()).getExchangeRates();
+    }
+
+    @Test
+    void execute_WithoutInputOrDuration_ShouldThrowException() throws Exception {
+        MonitorCommand command = new MonitorCommand(orderService);
+
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"monitor"}));
+        verify(orderService, never()).loadOrders(any());
+    }
+
+    @Test
+    void execute_WithPositionalArguments_ShouldThrowUsage() {
+        MonitorCommand command = new MonitorCommand(orderService, new BufferedReader(Reader.nullReader()));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"monitor", "EURUSD"}));
+        assertTrue(e.getMessage().startsWith("Usage: monitor"));
+    }
+
+    private List<String> update(LimitTriggerIndex index, int pair, double bid, double ask) {
+        List<String> ids = new ArrayList<>();
+        index.update(pair, bid, ask, row -> ids.add(store.id(row)));
+        return ids;
+    }
+}
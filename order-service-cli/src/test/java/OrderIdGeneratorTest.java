@@ -0,0 +1,61 @@
+import com.pm.models.OrderIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderIdGeneratorTest {
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+
+    @Test
+    void nextId_FromManyThreads_ShouldNeverRepeat() throws Exception {
+        OrderIdGenerator generator = new OrderIdGenerator(7, () -> NOW);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int idsPerThread = 20_000;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            Future<?>[] tasks = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                tasks[t] = executor.submit(() -> {
+                    long previous = -1;
+                    for (int i = 0; i < idsPerThread; i++) {
+                        long id = generator.nextId();
+                        assertTrue(id > previous);
+                        ids.add(id);
+                        previous = id;
+                    }
+                });
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        }
+
+        assertEquals(threads * idsPerThread, ids.size());
+    }
+
+    @Test
+    void nextId_ShouldPackTimeAndNodeAndStayAheadOfABackwardsClock() {
+        AtomicLong clock = new AtomicLong(NOW);
+        OrderIdGenerator generator = new OrderIdGenerator(1023, clock::get);
+
+        long first = generator.nextId();
+        clock.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        assertTrue(first > 0);
+        assertEquals(1023, OrderIdGenerator.node(first));
+        assertEquals(Instant.ofEpochMilli(NOW), OrderIdGenerator.timestamp(first));
+        assertTrue(second > first);
+        assertEquals(1023, OrderIdGenerator.node(second));
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(1024, clock::get));
+    }
+}
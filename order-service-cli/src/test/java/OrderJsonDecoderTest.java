@@ -0,0 +1,82 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.models.Currency;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.service.OrderJsonDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderJsonDecoderTest {
+    private final OrderJsonDecoder decoder = new OrderJsonDecoder(new ObjectMapper());
+
+    @Test
+    void loadOrders_ShouldDecodeEveryColumn() throws Exception {
+        OrderStore store = load("""
+                [{"id":"1","buy":true,"investmentCcy":"EUR","counterCcy":"USD","limit":1.1,"validUntil":"31.12.2099"}]""");
+
+        assertEquals(1, store.size());
+        assertEquals("1", store.id(0));
+        assertTrue(store.isBuy(0));
+        assertEquals(RateTable.index(Currency.EUR, Currency.USD), store.pairId(0));
+        assertEquals(1.1, store.limit(0));
+        assertEquals(LocalDate.of(2099, 12, 31), store.validUntil(0));
+    }
+
+    @Test
+    void loadOrders_WithNullOrMissingValidUntil_ShouldHaveNoExpiry() throws Exception {
+        OrderStore store = load("""
+                [{"id":"1","buy":false,"investmentCcy":"USD","counterCcy":"JPY","limit":150.5,"validUntil":null},
+                 {"id":"2","buy":true,"investmentCcy":"EUR","counterCcy":"GBP","limit":0.85}]""");
+
+        assertEquals(2, store.size());
+        assertEquals(OrderStore.NO_EXPIRY, store.validUntilEpochDay(0));
+        assertNull(store.validUntil(0));
+        assertEquals(OrderStore.NO_EXPIRY, store.validUntilEpochDay(1));
+    }
+
+    @Test
+    void loadOrders_WithFieldsInAnyOrderAndUnknownFields_ShouldDecodeTheSameOrder() throws Exception {
+        OrderStore store = load("""
+                [{"validUntil":"01.02.2030","limit":0.9,"extra":{"nested":[1,2]},"counterCcy":"EUR",
+                  "buy":true,"investmentCcy":"USD","id":"7"}]""");
+
+        assertEquals(1, store.size());
+        assertEquals("7", store.id(0));
+        assertTrue(store.isBuy(0));
+        assertEquals(Currency.USD, store.investmentCcy(0));
+        assertEquals(Currency.EUR, store.counterCcy(0));
+        assertEquals(0.9, store.limit(0));
+        assertEquals(LocalDate.of(2030, 2, 1), store.validUntil(0));
+    }
+
+    @Test
+    void loadOrders_WithUnknownCurrency_ShouldFail() {
+        IOException exception = assertThrows(IOException.class, () -> load("""
+                [{"id":"1","buy":true,"investmentCcy":"EUR","counterCcy":"XYZ","limit":1.1}]"""));
+
+        assertEquals("Order 1 has an unknown currency: XYZ", exception.getMessage());
+    }
+
+    @Test
+    void loadOrders_WithoutCurrencyPair_ShouldFail() {
+        assertThrows(IOException.class, () -> load("""
+                [{"id":"1","buy":true,"counterCcy":"USD","limit":1.1}]"""));
+    }
+
+    @Test
+    void loadOrders_WithoutArray_ShouldFail() {
+        assertThrows(IOException.class, () -> load("{\"id\":\"1\"}"));
+    }
+
+    private OrderStore load(String json) throws IOException {
+        OrderStore store = new OrderStore();
+        decoder.loadOrders(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), store);
+        return store;
+    }
+}
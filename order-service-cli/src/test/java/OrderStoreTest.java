@@ -0,0 +1,75 @@
+import com.pm.models.Currency;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderStoreTest {
+    private static final int EURUSD = RateTable.index(Currency.EUR, Currency.USD);
+    private static final int USDJPY = RateTable.index(Currency.USD, Currency.JPY);
+
+    private OrderStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new OrderStore(1);
+        store.add("1", true, EURUSD, 1.10, OrderStore.NO_EXPIRY);
+        store.add("2", false, USDJPY, 150.0, (int) LocalDate.of(2030, 1, 1).toEpochDay());
+        store.add("3", true, EURUSD, 1.05, OrderStore.NO_EXPIRY);
+        store.add("4", false, EURUSD, 1.10, OrderStore.NO_EXPIRY);
+        store.add("5", true, USDJPY, 140.0, OrderStore.NO_EXPIRY);
+    }
+
+    @Test
+    void add_BeyondInitialCapacity_ShouldKeepEveryColumn() {
+        assertEquals(5, store.size());
+        assertEquals("2", store.id(1));
+        assertFalse(store.isBuy(1));
+        assertEquals(Currency.USD, store.investmentCcy(1));
+        assertEquals(Currency.JPY, store.counterCcy(1));
+        assertEquals(150.0, store.limit(1));
+        assertEquals(LocalDate.of(2030, 1, 1), store.validUntil(1));
+        assertNull(store.validUntil(0));
+        assertEquals(new Order("2", "USD", false, "JPY", 150.0, LocalDate.of(2030, 1, 1)), store.toOrder(1));
+    }
+
+    @Test
+    void select_ShouldReturnMatchingRowsInStoreOrder() {
+        assertArrayEquals(new int[]{0, 2, 3}, store.select(row -> store.pairId(row) == EURUSD));
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, store.select(row -> true));
+        assertArrayEquals(new int[0], store.select(row -> store.limit(row) > 1000));
+    }
+
+    @Test
+    void sortedRows_ShouldSortByComparatorAndKeepTiesInStoreOrder() {
+        int[] rows = store.sortedRows((row1, row2) -> Double.compare(store.limit(row1), store.limit(row2)));
+
+        assertArrayEquals(new int[]{2, 0, 3, 4, 1}, rows);
+    }
+
+    @Test
+    void sort_WithSelectedRows_ShouldSortOnlyThoseRows() {
+        int[] rows = store.select(row -> store.isBuy(row));
+
+        OrderStore.sort(rows, (row1, row2) -> Double.compare(store.limit(row2), store.limit(row1)));
+
+        assertArrayEquals(new int[]{4, 0, 2}, rows);
+    }
+
+    @Test
+    void sort_WithNoOrOneRow_ShouldLeaveRowsUnchanged() {
+        int[] empty = new int[0];
+        int[] single = {3};
+
+        OrderStore.sort(empty, (row1, row2) -> 0);
+        OrderStore.sort(single, (row1, row2) -> 0);
+
+        assertArrayEquals(new int[0], empty);
+        assertArrayEquals(new int[]{3}, single);
+    }
+}
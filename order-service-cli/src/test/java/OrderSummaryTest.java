@@ -0,0 +1,57 @@
+import com.pm.models.Currency;
+import com.pm.models.OrderStore;
+import com.pm.models.OrderSummary;
+import com.pm.models.RateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderSummaryTest {
+    private static final int EUR_USD = RateTable.index(Currency.EUR, Currency.USD);
+    private static final int USD_JPY = RateTable.index(Currency.USD, Currency.JPY);
+
+    @Test
+    void of_ShouldComputeStatisticsPerGroup() {
+        OrderStore store = new OrderStore();
+        store.add("1", true, EUR_USD, 1.0, OrderStore.NO_EXPIRY);
+        store.add("2", true, EUR_USD, 2.0, OrderStore.NO_EXPIRY);
+        store.add("3", true, EUR_USD, 3.0, OrderStore.NO_EXPIRY);
+        store.add("4", false, EUR_USD, 5.0, OrderStore.NO_EXPIRY);
+
+        OrderSummary summary = OrderSummary.of(store);
+        int buyGroup = OrderSummary.group(true, EUR_USD);
+
+        assertEquals(3, summary.count(buyGroup));
+        assertEquals(2.0, summary.mean(buyGroup), 1e-12);
+        assertEquals(1.0, summary.min(buyGroup));
+        assertEquals(3.0, summary.max(buyGroup));
+        assertEquals(Math.sqrt(2.0 / 3.0), summary.stddev(buyGroup), 1e-12);
+        assertEquals(6.0, summary.sum(buyGroup), 1e-12);
+        assertEquals(1, summary.count(OrderSummary.group(false, EUR_USD)));
+        assertEquals(0, summary.count(OrderSummary.group(true, USD_JPY)));
+    }
+
+    @Test
+    void of_AboveParallelThreshold_ShouldMatchSequentialAggregation() {
+        Random random = new Random(42);
+        OrderStore store = new OrderStore();
+        for (int i = 0; i < OrderSummary.PARALLEL_THRESHOLD * 5; i++) {
+            store.add(String.valueOf(i), random.nextBoolean(), random.nextBoolean() ? EUR_USD : USD_JPY,
+                    100 * random.nextDouble(), OrderStore.NO_EXPIRY);
+        }
+
+        OrderSummary parallel = OrderSummary.of(store);
+        OrderSummary sequential = OrderSummary.aggregate(store, 0, store.size());
+
+        for (int group = 0; group < OrderSummary.GROUPS; group++) {
+            assertEquals(sequential.count(group), parallel.count(group));
+            assertEquals(sequential.mean(group), parallel.mean(group), 1e-9);
+            assertEquals(sequential.min(group), parallel.min(group));
+            assertEquals(sequential.max(group), parallel.max(group));
+            assertEquals(sequential.stddev(group), parallel.stddev(group), 1e-9);
+            assertEquals(sequential.sum(group), parallel.sum(group), 1e-6);
+        }
+    }
+}
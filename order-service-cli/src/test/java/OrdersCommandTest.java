@@ -0,0 +1,235 @@
+import com.pm.commands.OrdersCommand;
+import com.pm.models.BoundedMaxHeap;
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.RateTable;
+import com.pm.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrdersCommandTest {
+    @Mock
+    private OrderService orderService;
+
+    @TempDir
+    Path tempDir;
+
+    private OrdersCommand command;
+    private RateTable rateTable;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        command = new OrdersCommand(orderService);
+        List<FXRate> rates = List.of(new FXRate(new CurrencyPair(Currency.EUR, Currency.USD), 1.0, 1.25));
+        rateTable = RateTable.of(rates);
+        when(orderService.getExchangeRates()).thenReturn(rates);
+    }
+
+    @Test
+    void calculateDistance_WithDirectPair_ShouldUseAsk() {
+        assertEquals(0.05, OrdersCommand.calculateDistance(createOrder("1", Currency.EUR, Currency.USD, 1.2), rateTable), 1e-9);
+    }
+
+    @Test
+    void calculateDistance_WithReversePair_ShouldUseInvertedRate() {
+        assertEquals(0.1, OrdersCommand.calculateDistance(createOrder("1", Currency.USD, Currency.EUR, 0.9), rateTable), 1e-9);
+    }
+
+    @Test
+    void calculateDistance_WithUnknownPair_ShouldReturnZero() {
+        assertEquals(0.0, OrdersCommand.calculateDistance(createOrder("1", Currency.EUR, Currency.JPY, 160), rateTable));
+    }
+
+    @Test
+    void execute_WithOrders_ShouldDisplayOrders() throws Exception {
+        stubLoadOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.2),
+                createOrder("2", Currency.USD, Currency.EUR, 0.9)));
+
+        assertDoesNotThrow(() -> command.execute(new String[]{"orders"}));
+    }
+
+    @Test
+    void execute_WithEmptyOrders_ShouldHandleGracefully() throws Exception {
+        stubLoadOrders(new ArrayList<>());
+
+        assertDoesNotThrow(() -> command.execute(new String[]{"orders"}));
+    }
+
+    @Test
+    void execute_WithTopAndPair_ShouldStreamOrders() throws Throwable {
+        stubStreamOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.24),
+                createOrder("2", Currency.EUR, Currency.USD, 1.3),
+                createOrder("3", Currency.USD, Currency.EUR, 0.8)));
+
+        String output = captureOutput(() -> command.execute(new String[]{"orders", "--top", "1", "--pair", "EURUSD"}));
+
+        List<String> lines = output.lines().toList();
+        assertEquals(3, lines.size(), output);
+        assertTrue(lines.get(2).startsWith("1 "), output);
+        verify(orderService).streamOrders(eq(Currency.EUR), eq(Currency.USD), any());
+        verify(orderService, never()).loadOrders(any(OrderStore.class));
+    }
+
+    @Test
+    void execute_WithInvalidOptions_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"orders", "--top", "0"}));
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"orders", "--pair", "EURXYZ"}));
+        assertThrows(IllegalArgumentException.class, () -> command.execute(new String[]{"orders", "extra"}));
+    }
+
+    @Test
+    void execute_WithPage_ShouldRenderOnlyThatPage() throws Throwable {
+        stubLoadOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.2),
+                createOrder("2", Currency.EUR, Currency.USD, 1.3),
+                createOrder("3", Currency.EUR, Currency.USD, 1.1)));
+
+        String output = captureOutput(() -> command.execute(new String[]{"orders", "--page", "2", "--page-size", "2"}));
+
+        List<String> lines = output.lines().toList();
+        assertEquals(4, lines.size(), output);
+        assertTrue(lines.get(2).startsWith("3 "), output);
+        assertEquals("Page 2 of 2 (3 orders)", lines.get(3));
+    }
+
+    @Test
+    void execute_WithInvalidPaging_ShouldThrowException() throws Exception {
+        stubLoadOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.2),
+                createOrder("2", Currency.EUR, Currency.USD, 1.3)));
+
+        IllegalArgumentException pastEnd = assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--page", "5", "--page-size", "1"}));
+        assertEquals("Page 5 is past the last page (2)", pastEnd.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--page", "2", "--page-size", String.valueOf(Integer.MAX_VALUE)}));
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--page-size", "10"}));
+    }
+
+    @Test
+    void execute_WithTopAndPaging_ShouldThrowException() {
+        IllegalArgumentException withPage = assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--top", "1", "--page", "2"}));
+        assertEquals("--page and --page-size cannot be combined with --top", withPage.getMessage());
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--top", "1", "--page", "1", "--page-size", "5"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--top", "1", "--page-size", "5"}));
+    }
+
+    @Test
+    void execute_WithCsvFormatAndOut_ShouldStreamRecordsToFileWithoutLoadingTheBook() throws Exception {
+        Order noExpiry = createOrder("2", Currency.USD, Currency.EUR, 0.9);
+        noExpiry.setBuy(false);
+        noExpiry.setValidUntil(null);
+        stubStreamOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.2), noExpiry));
+        Path file = tempDir.resolve("orders.csv");
+
+        command.execute(new String[]{"orders", "--format", "csv", "--out", file.toString()});
+
+        assertEquals(List.of(
+                "id,type,inv,ctr,limit,validity,distance",
+                "1,buy,EUR,USD,1.2," + LocalDate.now().plusDays(7) + "," + Math.abs(1.25 - 1.2),
+                "2,sell,USD,EUR,0.9,," + Math.abs(1 / 1.0 - 0.9)), Files.readAllLines(file));
+        verify(orderService, never()).loadOrders(any(OrderStore.class));
+    }
+
+    @Test
+    void execute_WithJsonLinesFormat_ShouldWriteOneObjectPerOrder() throws Exception {
+        stubStreamOrders(List.of(createOrder("1", Currency.EUR, Currency.USD, 1.2),
+                createOrder("2", Currency.EUR, Currency.JPY, 160)));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(output));
+        try {
+            command.execute(new String[]{"orders", "--format", "jsonl", "--pair", "EURJPY"});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        assertEquals("{\"id\":\"2\",\"type\":\"buy\",\"inv\":\"EUR\",\"ctr\":\"JPY\",\"limit\":160.0,"
+                + "\"validity\":\"" + LocalDate.now().plusDays(7) + "\",\"distance\":0.0}\n", output.toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--format", "jsonl", "--page", "2"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"orders", "--out", "orders.txt"}));
+    }
+
+    @Test
+    void boundedMaxHeap_ShouldKeepSmallestKeysInAscendingOrder() {
+        BoundedMaxHeap<String> heap = new BoundedMaxHeap<>(3);
+        double[] keys = {5, 1, 9, 3, 7, 2, 8};
+        for (double key : keys) {
+            heap.offer(key, "k" + (int) key);
+        }
+
+        assertEquals(List.of("k1", "k2", "k3"), heap.drainAscending());
+        assertEquals(0, heap.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String captureOutput(Executable executable) throws Throwable {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(output));
+        try {
+            executable.execute();
+        } finally {
+            System.setOut(stdout);
+        }
+        return output.toString();
+    }
+
+    private void stubStreamOrders(List<Order> orders) throws Exception {
+        doAnswer(invocation -> {
+            orders.forEach(invocation.<Consumer<Order>>getArgument(0));
+            return null;
+        }).when(orderService).streamOrders(any(Consumer.class));
+        doAnswer(invocation -> {
+            String investmentCcy = invocation.<Currency>getArgument(0).name();
+            String counterCcy = invocation.<Currency>getArgument(1).name();
+            orders.stream()
+                    .filter(order -> order.getInvestmentCcy().equals(investmentCcy) && order.getCounterCcy().equals(counterCcy))
+                    .forEach(invocation.<Consumer<Order>>getArgument(2));
+            return null;
+        }).when(orderService).streamOrders(any(Currency.class), any(Currency.class), any(Consumer.class));
+    }
+
+    private void stubLoadOrders(List<Order> orders) throws Exception {
+        doAnswer(invocation -> {
+            orders.forEach(invocation.<OrderStore>getArgument(0));
+            return null;
+        }).when(orderService).loadOrders(any(OrderStore.class));
+    }
+
+    private Order createOrder(String id, Currency investmentCcy, Currency counterCcy, double limit) {
+        Order order = new Order();
+        order.setId(id);
+        order.setBuy(true);
+        order.setInvestmentCcy(investmentCcy.name());
+        order.setCounterCcy(counterCcy.name());
+        order.setLimit(limit);
+        order.setValidUntil(LocalDate.now().plusDays(7));
+        return order;
+    }
+}
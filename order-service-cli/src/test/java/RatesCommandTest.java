@@ -2,17 +2,27 @@ import com.pm.commands.RatesCommand;
 import com.pm.models.Currency;
 import com.pm.models.CurrencyPair;
 import com.pm.models.FXRate;
+import com.pm.models.RateTable;
 import com.pm.service.OrderService;
+import com.pm.service.RatePoller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class RatesCommandTest {
     @Mock
@@ -54,4 +64,94 @@ class RatesCommandTest {
          
         assertThrows(Exception.class, () -> command.execute(new String[]{"rates"}));
     }
-}
\ No newline at end of file
+
+    @Test
+    void execute_WithWatch_ShouldPollUntilDurationAndPrintChangedRows() throws Throwable {
+        when(orderService.getExchangeRatesAsync()).thenReturn(
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1000), rate(Currency.EUR, Currency.SEK, 11.5))),
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1000), rate(Currency.EUR, Currency.SEK, 11.6))));
+        command = new RatesCommand(orderService, new BufferedReader(Reader.nullReader()));
+
+        String output = captureOutput(() -> command.execute(new String[]{"rates", "--watch", "--plain", "--duration", "1",
+                "--min-interval", "100", "--max-interval", "200"}));
+
+        verify(orderService, never()).getExchangeRates();
+        verify(orderService, atLeast(3)).getExchangeRatesAsync();
+        assertEquals(1, output.split("EUR      USD", -1).length - 1, output);
+        assertEquals(2, output.split("EUR      SEK", -1).length - 1, output);
+    }
+
+    @Test
+    void execute_WithWatch_ShouldStopOnEnter() throws Throwable {
+        when(orderService.getExchangeRatesAsync()).thenReturn(
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1000))));
+        BufferedReader input = new BufferedReader(new StringReader("\nnext\n"));
+        command = new RatesCommand(orderService, input);
+
+        String output = captureOutput(() -> command.execute(new String[]{"rates", "--watch"}));
+
+        verify(orderService, times(1)).getExchangeRatesAsync();
+        assertTrue(output.contains("Stopped watching: 1 polls"), output);
+        assertEquals("next", input.readLine());
+    }
+
+    @Test
+    void execute_WithWatchWithoutInputOrDuration_ShouldThrowException() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> command.execute(new String[]{"rates", "--watch"}));
+
+        assertTrue(e.getMessage().contains("--duration"), e.getMessage());
+        verify(orderService, never()).getExchangeRatesAsync();
+    }
+
+    @Test
+    void ratePoller_ShouldBackOffWhileUnchangedAndTightenOnChange() throws Exception {
+        when(orderService.getExchangeRatesAsync()).thenReturn(
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1))),
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1))),
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.1))),
+                CompletableFuture.completedFuture(List.of(rate(Currency.EUR, Currency.USD, 1.2))));
+        RatePoller poller = new RatePoller(orderService, Duration.ofMillis(100), Duration.ofMillis(300));
+
+        assertArrayEquals(new int[]{RateTable.index(Currency.EUR, Currency.USD)}, poller.poll().changedPairs());
+        assertEquals(Duration.ofMillis(100), poller.nextInterval());
+        assertEquals(0, poller.poll().changedPairs().length);
+        assertEquals(Duration.ofMillis(200), poller.nextInterval());
+        poller.poll();
+        assertEquals(Duration.ofMillis(300), poller.nextInterval());
+        assertEquals(1, poller.poll().changedPairs().length);
+        assertEquals(Duration.ofMillis(100), poller.nextInterval());
+        assertEquals(2, poller.getChangedPolls());
+    }
+
+    @Test
+    void execute_WithAll_ShouldListCrossRatesWithTheirRoute() throws Throwable {
+        when(orderService.getExchangeRates()).thenReturn(List.of(
+                rate(Currency.EUR, Currency.USD, 1.1),
+                rate(Currency.USD, Currency.JPY, 150.0)));
+
+        String output = captureOutput(() -> command.execute(new String[]{"rates", "--all"}));
+
+        assertTrue(output.contains("quoted"), output);
+        assertTrue(output.contains("inverse"), output);
+        assertTrue(output.contains("via USD"), output);
+        assertTrue(output.contains("EUR      JPY"), output);
+        assertFalse(output.contains("GBP"), output);
+    }
+
+    private static FXRate rate(Currency ccy1, Currency ccy2, double mid) {
+        return new FXRate(new CurrencyPair(ccy1, ccy2), mid, mid + 0.0001);
+    }
+
+    private static String captureOutput(Executable executable) throws Throwable {
+        PrintStream stdout = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            executable.execute();
+        } finally {
+            System.setOut(stdout);
+        }
+        return output.toString();
+    }
+}
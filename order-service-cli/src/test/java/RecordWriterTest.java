@@ -0,0 +1,37 @@
+import com.pm.output.RecordWriter;
+import com.pm.output.TableWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordWriterTest {
+    private static final List<TableWriter.Column> COLUMNS = List.of(
+            TableWriter.left("ID", 4), TableWriter.right("LIMIT", 8), TableWriter.right("VALIDITY", 12));
+
+    @Test
+    void csv_ShouldWriteDecimalsInPlainNotation() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (RecordWriter writer = RecordWriter.toStream(bytes, RecordWriter.Format.CSV, COLUMNS)) {
+            writer.text("a,b").decimal(1.2E-4, 2).date(LocalDate.of(2030, 1, 2)).endRow();
+            writer.text("2").decimal(1.5E10, 2).date(null).endRow();
+        }
+
+        assertEquals("id,limit,validity\n\"a,b\",0.00012,2030-01-02\n2,15000000000,\n", bytes.toString());
+    }
+
+    @Test
+    void jsonl_ShouldWriteDecimalsInPlainNotationAndNullForMissingValues() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (RecordWriter writer = RecordWriter.toStream(bytes, RecordWriter.Format.JSONL, COLUMNS)) {
+            writer.text("1").decimal(-3.5E-7, 2).date(null).endRow();
+            writer.text(null).decimal(Double.NaN, 2).date(LocalDate.of(2030, 1, 2)).endRow();
+        }
+
+        assertEquals("{\"id\":\"1\",\"limit\":-0.00000035,\"validity\":null}\n"
+                + "{\"id\":null,\"limit\":null,\"validity\":\"2030-01-02\"}\n", bytes.toString());
+    }
+}
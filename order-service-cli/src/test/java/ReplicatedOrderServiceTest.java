@@ -0,0 +1,110 @@
+import com.pm.models.Currency;
+import com.pm.models.Order;
+import com.pm.service.OrderBook;
+import com.pm.service.OrderService;
+import com.pm.service.ReplicatedOrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReplicatedOrderServiceTest {
+    @Mock
+    private OrderService orderService;
+
+    private List<Order> serverOrders;
+    private ReplicatedOrderService replicatedService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        serverOrders = new ArrayList<>(List.of(createOrder("1", Currency.USD), createOrder("2", Currency.GBP)));
+        doAnswer(invocation -> {
+            List.copyOf(serverOrders).forEach(invocation.<Consumer<Order>>getArgument(0));
+            return null;
+        }).when(orderService).streamOrders(any(Consumer.class));
+        replicatedService = new ReplicatedOrderService(orderService, Duration.ZERO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replicatedService.close();
+    }
+
+    @Test
+    void getAllOrders_ShouldLoadOnceAndServeFromReplica() throws Exception {
+        assertEquals(2, replicatedService.getAllOrders().size());
+        assertEquals(2, replicatedService.getAllOrders().size());
+
+        verify(orderService, times(1)).streamOrders(any());
+        assertEquals(1, replicatedService.getOrderBook().ordersFor(Currency.EUR, Currency.GBP).size());
+    }
+
+    @Test
+    void streamOrdersForPair_ShouldServeFromPairIndex() throws Exception {
+        List<Order> orders = new ArrayList<>();
+
+        replicatedService.streamOrders(Currency.EUR, Currency.GBP, orders::add);
+        replicatedService.streamOrders(Currency.GBP, Currency.EUR, orders::add);
+
+        assertEquals(List.of(serverOrders.get(1)), orders);
+        verify(orderService, times(1)).streamOrders(any());
+        verify(orderService, never()).streamOrders(any(), any(), any());
+    }
+
+    @Test
+    void createAndCancel_ShouldUpdateReplicaWithoutRefetching() throws Exception {
+        Order created = createOrder("3", Currency.SEK);
+        when(orderService.createOrder(any(Order.class))).thenReturn(created);
+        when(orderService.cancelOrder("1")).thenReturn(true);
+
+        replicatedService.getAllOrders();
+        replicatedService.createOrder(createOrder(null, Currency.SEK));
+        replicatedService.cancelOrder("1");
+
+        List<Order> orders = replicatedService.getAllOrders();
+        assertEquals(2, orders.size());
+        assertNotNull(replicatedService.getOrderBook().get("3"));
+        assertNull(replicatedService.getOrderBook().get("1"));
+        verify(orderService, times(1)).streamOrders(any());
+    }
+
+    @Test
+    void reconcile_ShouldApplyOnlyDifferences() throws Exception {
+        replicatedService.getAllOrders();
+
+        serverOrders.remove(0);
+        Order changed = createOrder("2", Currency.GBP);
+        changed.setLimit(0.9);
+        serverOrders.set(0, changed);
+        serverOrders.add(createOrder("4", Currency.CHF));
+
+        OrderBook.ReconcileResult result = replicatedService.reconcile();
+
+        assertEquals(new OrderBook.ReconcileResult(1, 1, 1), result);
+        assertEquals(0.9, replicatedService.getOrderBook().get("2").getLimit());
+    }
+
+    private Order createOrder(String id, Currency counterCcy) {
+        Order order = new Order();
+        order.setId(id);
+        order.setBuy(true);
+        order.setInvestmentCcy(Currency.EUR.name());
+        order.setCounterCcy(counterCcy.name());
+        order.setLimit(1.2);
+        order.setValidUntil(LocalDate.now().plusDays(7));
+        return order;
+    }
+}
@@ -0,0 +1,102 @@
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.FXRate;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.service.OrderService;
+import com.pm.service.SnapshotOrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SnapshotOrderServiceTest {
+    private static final Instant SAVED_AT = Instant.parse("2026-01-05T10:00:00Z");
+    private static final List<FXRate> RATES = List.of(
+            new FXRate(new CurrencyPair(Currency.EUR, Currency.USD), 1.10, 1.11));
+
+    @Mock
+    private OrderService liveService;
+
+    @Mock
+    private OrderService offlineService;
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    private PrintStream stderr;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        stderr = System.err;
+        System.setErr(new PrintStream(errors));
+
+        when(liveService.getExchangeRates()).thenReturn(RATES);
+        doAnswer(invocation -> {
+            OrderStore store = invocation.getArgument(0);
+            store.accept(new Order("7", "EUR", true, "USD", 1.05, LocalDate.of(2099, 12, 31)));
+            store.accept(new Order("8", "GBP", false, "JPY", 190.0, null));
+            return null;
+        }).when(liveService).loadOrders(any());
+
+        when(offlineService.getExchangeRates()).thenThrow(new RuntimeException("Connection refused"));
+        doThrow(new RuntimeException("Connection refused")).when(offlineService).loadOrders(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setErr(stderr);
+    }
+
+    @Test
+    void start_WithSavedSnapshot_ShouldServeItWithItsAgeWhileServiceIsUnreachable() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        SnapshotOrderService first = new SnapshotOrderService(liveService, file, Clock.fixed(SAVED_AT, ZoneOffset.UTC));
+        assertFalse(first.start());
+        first.refresh().join();
+        assertEquals(RATES, first.getExchangeRates());
+
+        Clock later = Clock.fixed(SAVED_AT.plus(Duration.ofMinutes(5)), ZoneOffset.UTC);
+        SnapshotOrderService second = new SnapshotOrderService(offlineService, file, later);
+        assertTrue(second.start());
+
+        assertEquals(RATES, second.getExchangeRates());
+        OrderStore store = new OrderStore();
+        second.loadOrders(store);
+        assertEquals(2, store.size());
+        assertEquals(new Order("7", "EUR", true, "USD", 1.05, LocalDate.of(2099, 12, 31)), store.toOrder(0));
+        assertEquals(new Order("8", "GBP", false, "JPY", 190.0, null), store.toOrder(1));
+        assertTrue(errors.toString().contains("Saved snapshot from 5 min ago"), errors.toString());
+    }
+
+    @Test
+    void start_WithCorruptSnapshot_ShouldIgnoreItAndReadFromService() throws Exception {
+        Path file = directory.resolve("snapshot.bin");
+        Files.write(file, new byte[]{1, 2, 3});
+
+        SnapshotOrderService service = new SnapshotOrderService(liveService, file);
+
+        assertFalse(service.start());
+        assertEquals(RATES, service.getExchangeRates());
+        assertFalse(errors.toString().contains("Saved snapshot"));
+    }
+}
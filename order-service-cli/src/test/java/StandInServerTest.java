@@ -0,0 +1,98 @@
+import com.pm.models.Currency;
+import com.pm.models.CurrencyPair;
+import com.pm.models.Order;
+import com.pm.models.OrderStore;
+import com.pm.models.OrderType;
+import com.pm.server.FaultProfile;
+import com.pm.server.StandInBook;
+import com.pm.server.StandInServer;
+import com.pm.server.SyntheticBook;
+import com.pm.service.HttpService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandInServerTest {
+    private StandInServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void httpService_ShouldCreateRetrieveAndCancelOrders() throws Exception {
+        StandInBook book = new StandInBook(SyntheticBook.rates());
+        book.preload(SyntheticBook.orders(1000, 7, LocalDate.now()));
+        HttpService service = start(book, FaultProfile.NONE);
+
+        Order created = service.createOrder(new Order(OrderType.BUY, Currency.EUR, Currency.USD, 1.1,
+                LocalDate.now().plusDays(3)));
+        assertEquals("1001", created.getId());
+
+        OrderStore store = new OrderStore();
+        service.loadOrders(store);
+        assertEquals(1001, store.size());
+        assertEquals("1001", store.id(1000));
+        assertEquals(LocalDate.now().plusDays(3), store.validUntil(1000));
+
+        assertTrue(service.cancelOrder("1001"));
+        assertFalse(service.cancelOrder("1001"));
+        assertEquals(1000, service.getAllOrders().size());
+        assertEquals(CurrencyPair.SUPPORTED.size(), service.getExchangeRates().size());
+    }
+
+    @Test
+    void create_WithUnsupportedPair_ShouldBeRejected() throws Exception {
+        HttpService service = start(new StandInBook(SyntheticBook.rates()), FaultProfile.NONE);
+
+        assertThrows(Exception.class, () -> service.createOrder(new Order(OrderType.BUY, Currency.GBP, Currency.JPY,
+                190.0, LocalDate.now().plusDays(3))));
+        assertNotNull(service.createOrder(new Order(OrderType.SELL, Currency.JPY, Currency.USD, 0.0066,
+                LocalDate.now().plusDays(3))).getId());
+        assertEquals(1, server.getBook().size());
+    }
+
+    @Test
+    void book_WithAllPairs_ShouldAcceptEveryPair() {
+        StandInBook book = new StandInBook(SyntheticBook.rates(SyntheticBook.allPairs()));
+
+        book.create(new Order(OrderType.BUY, Currency.GBP, Currency.JPY, 190.0, LocalDate.now().plusDays(3)));
+
+        assertEquals(28, book.rates().size());
+        assertEquals(1, book.size());
+    }
+
+    @Test
+    void faults_ShouldBeInjectedDeterministically() throws Exception {
+        FaultProfile faults = new FaultProfile(Duration.ofMillis(1), Duration.ofMillis(5), 0.5, 42);
+        HttpService service = start(new StandInBook(SyntheticBook.rates()), faults);
+
+        for (long sequence = 0; sequence < 20; sequence++) {
+            assertEquals(faults.fails(sequence), fails(service), "request " + sequence);
+            assertTrue(faults.delayNanos(sequence) >= Duration.ofMillis(1).toNanos());
+        }
+        assertEquals(20, server.getRequestCount());
+    }
+
+    private HttpService start(StandInBook book, FaultProfile faults) throws Exception {
+        server = new StandInServer(0, book, faults);
+        server.start();
+        return new HttpService(server.getBaseUrl());
+    }
+
+    private static boolean fails(HttpService service) {
+        try {
+            service.getExchangeRates();
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import com.pm.commands.SummaryCommand;
 import com.pm.models.Currency;
 import com.pm.models.Order;
+import com.pm.models.OrderStore;
 import com.pm.models.OrderType;
 import com.pm.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,12 +9,18 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 class SummaryCommandTest {
     @Mock
@@ -32,7 +39,7 @@ class SummaryCommandTest {
           
         List<Order> orders = new ArrayList<>();
         orders.add(new Order(OrderType.BUY, Currency.EUR, Currency.USD, 1.2345, LocalDate.now()));
-        when(orderService.getAllOrders()).thenReturn(orders);
+        stubLoadOrders(orders);
 
          
         assertDoesNotThrow(() -> command.execute(new String[]{"summary"}));
@@ -41,10 +48,43 @@ class SummaryCommandTest {
     @Test
     void execute_WithEmptyOrders_ShouldHandleGracefully() throws Exception {
           
-        when(orderService.getAllOrders()).thenReturn(new ArrayList<>());
+        stubLoadOrders(new ArrayList<>());
 
          
         assertDoesNotThrow(() -> command.execute(new String[]{"summary"}));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_WithCsvFormat_ShouldAggregateStreamedOrders() throws Exception {
+        List<Order> orders = List.of(
+                new Order("1", "EUR", true, "USD", 1.0, null),
+                new Order("2", "EUR", true, "USD", 2.0, null),
+                new Order("3", "USD", false, "JPY", 150.0, null));
+        doAnswer(invocation -> {
+            orders.forEach(invocation.<Consumer<Order>>getArgument(0));
+            return null;
+        }).when(orderService).streamOrders(any(Consumer.class));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(output));
+        try {
+            command.execute(new String[]{"summary", "--format", "csv"});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        assertEquals(List.of(
+                "type,inv,ctr,count,average,min,max,stddev,notional",
+                "buy,EUR,USD,2,1.5,1.0,2.0,0.5,3.0",
+                "sell,USD,JPY,1,150.0,150.0,150.0,0.0,150.0"), output.toString().lines().toList());
+        verify(orderService, never()).loadOrders(any(OrderStore.class));
+    }
+
+    private void stubLoadOrders(List<Order> orders) throws Exception {
+        doAnswer(invocation -> {
+            orders.forEach(invocation.<OrderStore>getArgument(0));
+            return null;
+        }).when(orderService).loadOrders(any(OrderStore.class));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+import com.pm.output.TableWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableWriterTest {
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    void appendFixed_ShouldMatchFormatter() {
+        double[] values = {0, 1.005, 1.125, -0.0004, -2.5, 123456.789, 1e300, Double.NaN};
+        for (double value : values) {
+            for (int precision = 0; precision <= 4; precision++) {
+                StringBuilder actual = new StringBuilder();
+                TableWriter.appendFixed(actual, value, precision);
+                assertEquals(String.format("%." + precision + "f", value), actual.toString(),
+                        value + " with " + precision + " decimals");
+            }
+        }
+    }
+
+    @Test
+    void rows_ShouldBePaddedAndPaged() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (TableWriter table = new TableWriter(new PrintStream(bytes),
+                List.of(TableWriter.left("ID", 4), TableWriter.right("LIMIT", 6), TableWriter.right("VALIDITY", 10)))) {
+            table.page(2, 1).header('-');
+            for (int i = 1; i <= 3 && !table.isPageFull(); i++) {
+                if (table.beginRow()) {
+                    table.text(String.valueOf(i)).decimal(i * 1.5, 2).date(LocalDate.of(2024, 3, 9)).endRow();
+                }
+            }
+            assertEquals(2, table.getRowsSeen());
+            assertEquals(1, table.getRowsWritten());
+        }
+
+        assertEquals("ID    LIMIT   VALIDITY" + NL
+                + "----------------------" + NL
+                + "2      3.00 09.03.2024" + NL, bytes.toString());
+    }
+}